@@ -0,0 +1,62 @@
+package model;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Class representing the benchmarks of the simulation: a tick of a character running back and
+// forth and jumping, and the two collision queries, on generated levels of increasing size
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GameBenchmark {
+    private static final int TURN_TICKS = 64;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int tiles;
+
+    private TileMap tileMap;
+    private Game running;
+    private Game standing;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        tileMap = MapGenerator.generate(tiles);
+    }
+
+    // EFFECTS: starts a new game for each iteration, so the ticks of one do not depend on the
+    // iterations before it; the standing character overlaps the ground by a few pixels
+    @Setup(Level.Iteration)
+    public void startGames() {
+        running = MapGenerator.newGame(tileMap);
+        running.applyCommand(Command.RIGHT);
+        standing = MapGenerator.newGame(tileMap);
+        standing.getCharacter().setPositionY(MapGenerator.GROUND_ROW * Game.DEFAULT_TILE_SIZE
+                - Game.DEFAULT_TILE_SIZE + 4);
+    }
+
+    @Benchmark
+    public int tick() {
+        int time = running.getTime();
+        if (time % TURN_TICKS == 0) {
+            running.applyCommand((time / TURN_TICKS) % 2 == 0 ? Command.LEFT : Command.RIGHT);
+        } else if (time % TURN_TICKS == TURN_TICKS / 2) {
+            running.applyCommand(Command.JUMP);
+        }
+        return running.tick();
+    }
+
+    @Benchmark
+    public List<GameEntity> checkCollisionList() {
+        return standing.checkCollisionList();
+    }
+
+    @Benchmark
+    public boolean onPlatform() {
+        return standing.onPlatform();
+    }
+}
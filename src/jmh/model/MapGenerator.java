@@ -0,0 +1,69 @@
+package model;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+// Class representing the generation of levels of a given size for the benchmarks: a solid ground
+// row under the starting position, floating platforms within jump height, and hazards and power-ups
+// high enough that a character jumping in place never reaches them; the same seed gives the same level
+public final class MapGenerator {
+    public static final int WIDTH = Game.DEFAULT_TILE_SIZE * 20;
+    public static final int HEIGHT = Game.DEFAULT_TILE_SIZE * 14;
+    public static final int ROWS = HEIGHT / Game.DEFAULT_TILE_SIZE;
+    public static final int GROUND_ROW = 10;
+    private static final long SEED = 210;
+
+    private MapGenerator() {
+    }
+
+    // REQUIRES: tiles >= ROWS * 40
+    // EFFECTS: returns a generated level of about the given number of tiles, ROWS tiles high
+    public static TileMap generate(int tiles) {
+        int columns = tiles / ROWS;
+        TileMap tileMap = new TileMap(columns, ROWS, Game.DEFAULT_TILE_SIZE);
+        Random random = new Random(SEED);
+        for (int col = 0; col < columns; col++) {
+            tileMap.setTile(col, GROUND_ROW, EntityKind.BLOCK);
+            if (random.nextInt(4) == 0) {
+                tileMap.setTile(col, GROUND_ROW - 4 + random.nextInt(2), EntityKind.BLOCK);
+            }
+            int high = random.nextInt(16);
+            if (high == 0) {
+                tileMap.setTile(col, 1, EntityKind.HAZARD);
+            } else if (high == 1) {
+                tileMap.setTile(col, 0, EntityKind.SPEED);
+            } else if (high == 2) {
+                tileMap.setTile(col, 0, EntityKind.INVULNERABLE);
+            }
+        }
+        tileMap.setTile(columns - 1, GROUND_ROW - 1, EntityKind.FINISH);
+        return tileMap;
+    }
+
+    // EFFECTS: returns a game on the given level whose events go to a detached log
+    public static Game newGame(TileMap tileMap) {
+        Game game = new Game(WIDTH, HEIGHT, Game.DEFAULT_TILE_SIZE, Game.DEFAULT_TICK_RATE,
+                EventLog.newDetachedLog());
+        game.setTileMap(tileMap);
+        return game;
+    }
+
+    // EFFECTS: writes tileMap to csv in the format of a map file, one line per row;
+    // throws IOException if the file cannot be written
+    public static void writeCsv(TileMap tileMap, Path csv) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(csv)) {
+            for (int row = 0; row < tileMap.getRows(); row++) {
+                for (int col = 0; col < tileMap.getColumns(); col++) {
+                    if (col > 0) {
+                        writer.write(',');
+                    }
+                    writer.write('0' + tileMap.getTile(col, row));
+                }
+                writer.newLine();
+            }
+        }
+    }
+}
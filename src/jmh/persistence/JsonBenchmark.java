@@ -0,0 +1,58 @@
+package persistence;
+
+import model.Game;
+import model.MapGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Class representing the benchmarks of saving and loading the state of a game on generated levels
+// of increasing size, every tile of the level is part of the saved state
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JsonBenchmark {
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int tiles;
+
+    private Game game;
+    private Path written;
+    private Path saved;
+
+    // EFFECTS: generates the game and a save of it to read back
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        game = MapGenerator.newGame(MapGenerator.generate(tiles));
+        written = Files.createTempFile("java-runner-bench-", ".json");
+        saved = Files.createTempFile("java-runner-bench-", ".json");
+        JsonWriter writer = new JsonWriter(saved.toString());
+        writer.open();
+        writer.write(game);
+        writer.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(written);
+        Files.deleteIfExists(saved);
+    }
+
+    @Benchmark
+    public void write() throws IOException {
+        JsonWriter writer = new JsonWriter(written.toString());
+        writer.open();
+        writer.write(game);
+        writer.close();
+    }
+
+    @Benchmark
+    public Game read() throws IOException {
+        return new JsonReader(saved.toString()).read();
+    }
+}
@@ -0,0 +1,48 @@
+package ui;
+
+import model.Game;
+import model.MapGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// Class representing the benchmark of loading a whole map file into a game, on generated maps
+// of increasing size; the first load transcodes the csv, the measured ones read the tile file,
+// and both files are deleted after each trial
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MapLoaderBenchmark {
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int tiles;
+
+    private Path csv;
+    private MapLoader loader;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        csv = Files.createTempFile("java-runner-bench-", ".csv");
+        MapGenerator.writeCsv(MapGenerator.generate(tiles), csv);
+        loader = new MapLoader(csv.toString());
+        loader.loadMap(MapGenerator.newGame(null));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(loader.tileFile());
+        Files.deleteIfExists(csv);
+    }
+
+    @Benchmark
+    public Game loadMap() {
+        Game game = MapGenerator.newGame(null);
+        loader.loadMap(game);
+        return game;
+    }
+}
@@ -0,0 +1,82 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Class representing a runner that simulates one level under many input scripts at once,
+// each run in its own game on a fork-join pool; the level's tiles are shared read-only by
+// every run, and each run logs to its own detached event log so runs never contend on
+// or pollute the system's event log
+public class BatchRunner {
+    private final TileMap tileMap;
+    private final int maxX;
+    private final int maxY;
+    private final ForkJoinPool pool;
+
+    // EFFECTS: constructs a runner for the level tileMap played in a maxX by maxY view,
+    // running simulations on the common fork-join pool
+    public BatchRunner(TileMap tileMap, int maxX, int maxY) {
+        this(tileMap, maxX, maxY, ForkJoinPool.commonPool());
+    }
+
+    // EFFECTS: constructs a runner as above that runs simulations on pool
+    public BatchRunner(TileMap tileMap, int maxX, int maxY, ForkJoinPool pool) {
+        this.tileMap = tileMap;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.pool = pool;
+    }
+
+    // REQUIRES: maxTicks >= 0
+    // EFFECTS: simulates one game per script for at most maxTicks ticks each, in parallel;
+    // returns the results in the same order as scripts
+    public List<RunResult> runAll(List<InputScript> scripts, long maxTicks) {
+        RunResult[] results = new RunResult[scripts.size()];
+        this.pool.invoke(new RunRange(scripts, maxTicks, results, 0, scripts.size()));
+        return new ArrayList<>(Arrays.asList(results));
+    }
+
+    // EFFECTS: simulates a single game of the level driven by script for at most maxTicks ticks
+    public RunResult runOne(int index, InputScript script, long maxTicks) {
+        Game game = new Game(this.maxX, this.maxY, this.tileMap.getTileSize(), Game.DEFAULT_TICK_RATE,
+                EventLog.newDetachedLog());
+        game.setTileMap(this.tileMap);
+        HeadlessEngine engine = new HeadlessEngine(game, script);
+        engine.run(maxTicks);
+        return RunResult.of(index, engine);
+    }
+
+    // Class representing the task of simulating the scripts in [from, to), split in halves
+    // until each task is a single run so that idle workers can steal the remaining runs
+    private class RunRange extends RecursiveAction {
+        private final List<InputScript> scripts;
+        private final long maxTicks;
+        private final RunResult[] results;
+        private final int from;
+        private final int to;
+
+        RunRange(List<InputScript> scripts, long maxTicks, RunResult[] results, int from, int to) {
+            this.scripts = scripts;
+            this.maxTicks = maxTicks;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (to > from) {
+                    results[from] = runOne(from, scripts.get(from), maxTicks);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RunRange(scripts, maxTicks, results, from, mid),
+                    new RunRange(scripts, maxTicks, results, mid, to));
+        }
+    }
+}
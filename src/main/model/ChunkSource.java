@@ -0,0 +1,22 @@
+package model;
+
+import java.io.IOException;
+
+// Represents a store of the tiles of a level, split into chunks of a fixed number of
+// columns, that can be read one chunk at a time in the column-major layout of a TileMap
+public interface ChunkSource {
+    // EFFECTS: returns the number of columns of the level
+    int getColumns();
+
+    // EFFECTS: returns the number of rows of the level
+    int getRows();
+
+    // EFFECTS: returns the number of columns in each chunk, a power of two
+    int getChunkColumns();
+
+    // REQUIRES: 0 <= chunk < number of chunks, tiles.length == getChunkColumns() * getRows()
+    // MODIFIES: tiles
+    // EFFECTS: reads the tile codes of chunk into tiles, column-major, with columns past the
+    // end of the level left EMPTY; throws IOException if the chunk cannot be read
+    void readChunk(int chunk, byte[] tiles) throws IOException;
+}
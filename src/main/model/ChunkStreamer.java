@@ -0,0 +1,231 @@
+package model;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.BitSet;
+
+// Class representing a background loader that keeps the chunks of a streamed TileMap around a
+// focus column resident: the chunks from one behind the focus to a number ahead of it are read
+// from the map's source nearest first, and once more chunks are resident than the memory budget
+// allows, the ones farthest from the focus are evicted; every chunk is read into a new array that
+// is never written again, so a thread holding the tiles of an evicted chunk keeps seeing them
+public class ChunkStreamer implements Runnable {
+    private static final int BEHIND = 1;
+    private final TileMap tileMap;
+    private final ChunkSource source;
+    private final int ahead;
+    private final int budget;
+    private final BitSet resident;
+    private final Object lock;
+    private int focus;
+    private boolean running;
+    private IOException failure;
+    private Thread thread;
+
+    // REQUIRES: tileMap was made by TileMap.streamed, ahead >= 0, maxBytes > 0
+    // EFFECTS: constructs a streamer for tileMap that keeps ahead chunks past the focus resident
+    // and holds at most maxBytes of tiles, but never fewer chunks than the focus needs
+    public ChunkStreamer(TileMap tileMap, int ahead, long maxBytes) {
+        this.tileMap = tileMap;
+        this.source = tileMap.getSource();
+        this.ahead = ahead;
+        long chunks = maxBytes / Math.max(tileMap.getChunkLength(), 1);
+        this.budget = (int) Math.max(BEHIND + 1 + ahead, Math.min(chunks, tileMap.getChunkCount()));
+        this.resident = new BitSet(tileMap.getChunkCount());
+        this.lock = new Object();
+        this.focus = 0;
+        this.running = false;
+        this.failure = null;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: starts loading chunks on a daemon thread
+    public void start() {
+        synchronized (lock) {
+            running = true;
+        }
+        thread = new Thread(this, "chunk-streamer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: asks the loading thread to stop, which closes the map's source if it can be
+    // closed once it has finished the chunk it is reading; returns without waiting for it;
+    // chunks already resident stay resident
+    public void close() {
+        synchronized (lock) {
+            running = false;
+            lock.notifyAll();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves the focus to the chunk holding pixel coordinate x
+    public void focus(int x) {
+        int chunk = clampChunk(tileMap.chunkOf(tileMap.columnOf(x)));
+        synchronized (lock) {
+            if (chunk != focus) {
+                focus = chunk;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    // REQUIRES: left to right lies within the chunks wanted around the focus
+    // EFFECTS: waits until every chunk overlapping pixel coordinates left to right is resident;
+    // throws IOException if a chunk could not be read or the streamer is not running,
+    // InterruptedException if interrupted
+    public void awaitResident(int left, int right) throws IOException, InterruptedException {
+        if (tileMap.getChunkCount() == 0) {
+            return;
+        }
+        int first = clampChunk(tileMap.chunkOf(tileMap.columnOf(left)));
+        int last = clampChunk(tileMap.chunkOf(tileMap.columnOf(right)));
+        synchronized (lock) {
+            while (!allResident(first, last)) {
+                if (failure != null) {
+                    throw failure;
+                } else if (!running) {
+                    throw new IOException("Chunk streamer is not running");
+                }
+                lock.wait();
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: until closed, loads the missing chunk nearest the focus, evicting the farthest
+    // chunks over budget, and waits for the focus to move once every wanted chunk is resident;
+    // closes the map's source when done
+    @Override
+    public void run() {
+        try {
+            stream();
+        } finally {
+            if (source instanceof Closeable) {
+                try {
+                    ((Closeable) source).close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: loads chunks around the focus until closed or a chunk cannot be read
+    private void stream() {
+        while (true) {
+            int chunk = -1;
+            int target;
+            synchronized (lock) {
+                while (running) {
+                    chunk = nextMissing(focus);
+                    if (chunk >= 0) {
+                        break;
+                    }
+                    waitQuietly();
+                }
+                if (!running) {
+                    return;
+                }
+                target = focus;
+            }
+            byte[] tiles = new byte[tileMap.getChunkLength()];
+            try {
+                source.readChunk(chunk, tiles);
+            } catch (IOException e) {
+                synchronized (lock) {
+                    failure = e;
+                    running = false;
+                    lock.notifyAll();
+                }
+                return;
+            }
+            synchronized (lock) {
+                tileMap.setChunk(chunk, tiles);
+                resident.set(chunk);
+                evictOverBudget(target);
+                lock.notifyAll();
+            }
+        }
+    }
+
+    // EFFECTS: returns the chunk in the wanted window around target that is not resident and is
+    // nearest target, preferring the chunk ahead on ties; or -1 if every wanted chunk is resident
+    private int nextMissing(int target) {
+        if (tileMap.getChunkCount() == 0) {
+            return -1;
+        }
+        int first = clampChunk(target - BEHIND);
+        int last = clampChunk(target + ahead);
+        for (int distance = 0; target + distance <= last || target - distance >= first; distance++) {
+            if (target + distance <= last && !resident.get(target + distance)) {
+                return target + distance;
+            }
+            if (target - distance >= first && !resident.get(target - distance)) {
+                return target - distance;
+            }
+        }
+        return -1;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: evicts the resident chunks outside the wanted window around target, farthest from
+    // the window first, until at most budget are resident
+    private void evictOverBudget(int target) {
+        int first = clampChunk(target - BEHIND);
+        int last = clampChunk(target + ahead);
+        while (resident.cardinality() > budget) {
+            int farthest = -1;
+            int farthestDistance = 0;
+            for (int c = resident.nextSetBit(0); c >= 0; c = resident.nextSetBit(c + 1)) {
+                int distance = (c < first) ? first - c : c - last;
+                if (distance > farthestDistance) {
+                    farthest = c;
+                    farthestDistance = distance;
+                }
+            }
+            resident.clear(farthest);
+            tileMap.evictChunk(farthest);
+        }
+    }
+
+    // EFFECTS: returns true if every chunk from first to last is resident
+    private boolean allResident(int first, int last) {
+        int missing = resident.nextClearBit(first);
+        return missing > last;
+    }
+
+    // EFFECTS: returns chunk clamped to the chunks of the map
+    private int clampChunk(int chunk) {
+        return Math.max(0, Math.min(chunk, tileMap.getChunkCount() - 1));
+    }
+
+    // EFFECTS: waits on the lock, treating an interrupt as a request to stop
+    private void waitQuietly() {
+        try {
+            lock.wait();
+        } catch (InterruptedException e) {
+            running = false;
+        }
+    }
+
+    // EFFECTS: returns true if start has been called
+    public boolean isStarted() {
+        return thread != null;
+    }
+
+    // EFFECTS: returns the number of chunks the streamer keeps resident at most
+    public int getBudget() {
+        return budget;
+    }
+
+    // EFFECTS: returns the number of chunks currently resident
+    public int getResidentCount() {
+        synchronized (lock) {
+            return resident.cardinality();
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package model;
+
+// Represents the algorithms the game can use to move the character and resolve collisions
+public enum CollisionSolver {
+    // moves the character one pixel at a time, querying for collisions after every step
+    PIXEL_STEP,
+    // sweeps the character's box along each axis once and resolves contacts in the order they occur
+    SWEPT
+}
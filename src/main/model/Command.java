@@ -0,0 +1,12 @@
+package model;
+
+// Represents the inputs a player can give the game, applied between ticks
+public enum Command {
+    LEFT,
+    RIGHT,
+    RELEASE,
+    JUMP,
+    USE_1,
+    USE_2,
+    USE_3
+}
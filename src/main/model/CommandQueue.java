@@ -0,0 +1,73 @@
+package model;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Class representing a bounded queue of player commands that any number of threads can offer to
+// without locking, and that a single thread, the one running the game, polls; each slot carries a
+// sequence number telling producers when it is free and the consumer when its command is written
+public class CommandQueue {
+    private final int mask;
+    private final Command[] commands;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail;
+    private long head;
+
+    // REQUIRES: capacity is a power of two
+    // EFFECTS: constructs an empty queue holding up to capacity commands
+    public CommandQueue(int capacity) {
+        this.mask = capacity - 1;
+        this.commands = new Command[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            this.sequences.set(i, i);
+        }
+        this.tail = new AtomicLong();
+        this.head = 0;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds command to the back of the queue and returns true, or returns false if the
+    // queue is full; safe to call from any thread
+    public boolean offer(Command command) {
+        while (true) {
+            long position = this.tail.get();
+            int slot = (int) position & this.mask;
+            long sequence = this.sequences.get(slot);
+            if (sequence < position) {
+                return false;
+            }
+            if (sequence == position && this.tail.compareAndSet(position, position + 1)) {
+                this.commands[slot] = command;
+                this.sequences.set(slot, position + 1);
+                return true;
+            }
+        }
+    }
+
+    // REQUIRES: only called from the thread consuming the queue
+    // MODIFIES: this
+    // EFFECTS: removes and returns the command at the front of the queue,
+    // or null if there is none
+    public Command poll() {
+        int slot = (int) this.head & this.mask;
+        if (this.sequences.get(slot) != this.head + 1) {
+            return null;
+        }
+        Command command = this.commands[slot];
+        this.commands[slot] = null;
+        this.sequences.set(slot, this.head + this.mask + 1);
+        this.head++;
+        return command;
+    }
+
+    // REQUIRES: only called from the thread consuming the queue
+    // EFFECTS: returns true if no command has been offered since the last one was polled
+    public boolean isEmpty() {
+        return this.tail.get() == this.head;
+    }
+
+    public int getCapacity() {
+        return this.mask + 1;
+    }
+}
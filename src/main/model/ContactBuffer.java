@@ -0,0 +1,157 @@
+package model;
+
+// Class representing a reusable list of collision contacts stored as parallel arrays;
+// a contact is either a block object in the game or a tile of the game's TileMap,
+// in which case it has no block object and is described by its kind and bounds only
+public class ContactBuffer {
+    private static final int INITIAL_CAPACITY = 8;
+    private EntityKind[] kinds;
+    private int[] lefts;
+    private int[] tops;
+    private int[] rights;
+    private int[] bottoms;
+    private Block[] blocks;
+    private int[] orders;
+    private int size;
+
+    // EFFECTS: constructs an empty buffer
+    public ContactBuffer() {
+        kinds = new EntityKind[INITIAL_CAPACITY];
+        lefts = new int[INITIAL_CAPACITY];
+        tops = new int[INITIAL_CAPACITY];
+        rights = new int[INITIAL_CAPACITY];
+        bottoms = new int[INITIAL_CAPACITY];
+        blocks = new Block[INITIAL_CAPACITY];
+        orders = new int[INITIAL_CAPACITY];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes every contact, keeping the allocated capacity
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            blocks[i] = null;
+        }
+        size = 0;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: appends a contact with the given kind, inclusive bounds and block object
+    // (null for a tile), with a sort order of 0
+    public void add(EntityKind kind, int left, int top, int right, int bottom, Block block) {
+        if (size == kinds.length) {
+            grow();
+        }
+        kinds[size] = kind;
+        lefts[size] = left;
+        tops[size] = top;
+        rights[size] = right;
+        bottoms[size] = bottom;
+        blocks[size] = block;
+        orders[size] = 0;
+        size++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: sets the value the contact at index i is sorted by
+    public void setOrder(int i, int order) {
+        orders[i] = order;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stably sorts the contacts by ascending order
+    public void sort() {
+        for (int i = 1; i < size; i++) {
+            EntityKind kind = kinds[i];
+            int left = lefts[i];
+            int top = tops[i];
+            int right = rights[i];
+            int bottom = bottoms[i];
+            Block block = blocks[i];
+            int order = orders[i];
+            int j = i;
+            while (j > 0 && orders[j - 1] > order) {
+                copy(j - 1, j);
+                j--;
+            }
+            kinds[j] = kind;
+            lefts[j] = left;
+            tops[j] = top;
+            rights[j] = right;
+            bottoms[j] = bottom;
+            blocks[j] = block;
+            orders[j] = order;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public EntityKind getKind(int i) {
+        return kinds[i];
+    }
+
+    public int getLeft(int i) {
+        return lefts[i];
+    }
+
+    public int getTop(int i) {
+        return tops[i];
+    }
+
+    public int getRight(int i) {
+        return rights[i];
+    }
+
+    public int getBottom(int i) {
+        return bottoms[i];
+    }
+
+    // EFFECTS: returns the block object of the contact at index i, or null if it is a tile
+    public Block getBlock(int i) {
+        return blocks[i];
+    }
+
+    public int getOrder(int i) {
+        return orders[i];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: copies the contact at index from over the contact at index to
+    private void copy(int from, int to) {
+        kinds[to] = kinds[from];
+        lefts[to] = lefts[from];
+        tops[to] = tops[from];
+        rights[to] = rights[from];
+        bottoms[to] = bottoms[from];
+        blocks[to] = blocks[from];
+        orders[to] = orders[from];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: doubles the capacity of every array
+    private void grow() {
+        int capacity = kinds.length * 2;
+        EntityKind[] newKinds = new EntityKind[capacity];
+        int[] newLefts = new int[capacity];
+        int[] newTops = new int[capacity];
+        int[] newRights = new int[capacity];
+        int[] newBottoms = new int[capacity];
+        Block[] newBlocks = new Block[capacity];
+        int[] newOrders = new int[capacity];
+        System.arraycopy(kinds, 0, newKinds, 0, size);
+        System.arraycopy(lefts, 0, newLefts, 0, size);
+        System.arraycopy(tops, 0, newTops, 0, size);
+        System.arraycopy(rights, 0, newRights, 0, size);
+        System.arraycopy(bottoms, 0, newBottoms, 0, size);
+        System.arraycopy(blocks, 0, newBlocks, 0, size);
+        System.arraycopy(orders, 0, newOrders, 0, size);
+        kinds = newKinds;
+        lefts = newLefts;
+        tops = newTops;
+        rights = newRights;
+        bottoms = newBottoms;
+        blocks = newBlocks;
+        orders = newOrders;
+    }
+}
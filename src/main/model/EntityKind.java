@@ -0,0 +1,77 @@
+package model;
+
+// Represents the kinds of entities in the game, each with the name it is saved under
+// and the code it is stored as in a map; used instead of the name itself wherever
+// the game dispatches on an entity's kind
+public enum EntityKind {
+    PLAYER("player", 0),
+    BLOCK(Game.BLOCK, 1),
+    HAZARD(Game.HAZARD, 2),
+    SPEED(Game.SPEED, 3),
+    INVULNERABLE(Game.INVULNERABLE, 4),
+    FINISH(Game.FINISH, 5);
+
+    private static final EntityKind[] BY_CODE = {null, BLOCK, HAZARD, SPEED, INVULNERABLE, FINISH};
+    private final String name;
+    private final byte code;
+
+    EntityKind(String name, int code) {
+        this.name = name;
+        this.code = (byte) code;
+    }
+
+    // EFFECTS: returns the name this kind is saved under
+    public String getName() {
+        return name;
+    }
+
+    // EFFECTS: returns the value this kind is stored as in a map file and in a TileMap,
+    // 0 means empty space and is never the code of a tile
+    public byte getCode() {
+        return code;
+    }
+
+    // EFFECTS: returns true if entities of this kind can be collected into the inventory
+    public boolean isPowerUp() {
+        return this == SPEED || this == INVULNERABLE;
+    }
+
+    // EFFECTS: returns a new block of this kind at the given position,
+    // or null if this kind is not a block
+    public Block newBlock(int posX, int posY) {
+        switch (this) {
+            case BLOCK:
+                return new Block(posX, posY);
+            case HAZARD:
+                return new Hazard(posX, posY);
+            case SPEED:
+            case INVULNERABLE:
+                return new PowerUp(posX, posY, name);
+            case FINISH:
+                return new FinishLine(posX, posY);
+            default:
+                return null;
+        }
+    }
+
+    // EFFECTS: returns the kind saved under the given name, or null if there is none
+    public static EntityKind fromName(String name) {
+        if (name == null) {
+            return null;
+        }
+        for (EntityKind kind : values()) {
+            if (kind.name.equals(name)) {
+                return kind;
+            }
+        }
+        return null;
+    }
+
+    // EFFECTS: returns the kind of tile stored as code, or null if code is empty space or unknown
+    public static EntityKind fromCode(int code) {
+        if (code <= 0 || code >= BY_CODE.length) {
+            return null;
+        }
+        return BY_CODE[code];
+    }
+}
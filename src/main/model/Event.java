@@ -1,25 +1,42 @@
 package model;
 
-import java.util.Calendar;
 import java.util.Date;
 
 
 /**
- * Represents an alarm system event.
+ * Represents an event read from the event log, possibly standing for
+ * a run of identical events over a range of ticks. The description of
+ * the event is only formatted when it is first asked for.
  */
 public class Event {
     private static final int HASH_CONSTANT = 13;
-    private Date dateLogged;
+    private final EventType type;
+    private final int tick;
+    private final long timeLogged;
+    private final int arg0;
+    private final int arg1;
+    private final int repeats;
+    private final int lastTick;
     private String description;
 
     /**
-     * Creates an event with the given description
-     * and the current date/time stamp.
-     * @param description  a description of the event
+     * Creates an event of the given type with its arguments.
+     * @param type  the type of the event
+     * @param tick  the game tick at which the event happened
+     * @param timeLogged  the time of the event in milliseconds since the epoch
+     * @param arg0  the first argument of the event's message
+     * @param arg1  the second argument of the event's message
+     * @param repeats  the number of identical events this one stands for
+     * @param lastTick  the game tick of the last of those events
      */
-    public Event(String description) {
-        dateLogged = Calendar.getInstance().getTime();
-        this.description = description;
+    Event(EventType type, int tick, long timeLogged, int arg0, int arg1, int repeats, int lastTick) {
+        this.type = type;
+        this.tick = tick;
+        this.timeLogged = timeLogged;
+        this.arg0 = arg0;
+        this.arg1 = arg1;
+        this.repeats = repeats;
+        this.lastTick = lastTick;
     }
 
     /**
@@ -27,7 +44,7 @@ public class Event {
      * @return  the date of the event
      */
     public Date getDate() {
-        return dateLogged;
+        return new Date(timeLogged);
     }
 
     /**
@@ -35,9 +52,48 @@ public class Event {
      * @return  the description of the event
      */
     public String getDescription() {
+        if (description == null) {
+            description = type.describe(arg0, arg1);
+            if (repeats > 1) {
+                description += " (x" + repeats + ", ticks " + tick + " to " + lastTick + ")";
+            }
+        }
         return description;
     }
 
+    /**
+     * Gets the type of this event.
+     * @return  the type of the event
+     */
+    public EventType getType() {
+        return type;
+    }
+
+    /**
+     * Gets the game tick at which this event, or the first of its
+     * repeats, happened.
+     * @return  the tick of the event
+     */
+    public int getTick() {
+        return tick;
+    }
+
+    /**
+     * Gets the game tick at which the last repeat of this event happened.
+     * @return  the tick of the last repeat, the tick of the event if it was not repeated
+     */
+    public int getLastTick() {
+        return lastTick;
+    }
+
+    /**
+     * Gets the number of identical events this event stands for.
+     * @return  the number of repeats, 1 if the event was not repeated
+     */
+    public int getRepeats() {
+        return repeats;
+    }
+
     @Override
     public boolean equals(Object other) {
         if (other == null) {
@@ -50,17 +106,22 @@ public class Event {
 
         Event otherEvent = (Event) other;
 
-        return (this.dateLogged.equals(otherEvent.dateLogged)
-                && this.description.equals(otherEvent.description));
+        return (this.timeLogged == otherEvent.timeLogged
+                && this.type == otherEvent.type
+                && this.tick == otherEvent.tick
+                && this.arg0 == otherEvent.arg0
+                && this.arg1 == otherEvent.arg1
+                && this.repeats == otherEvent.repeats
+                && this.lastTick == otherEvent.lastTick);
     }
 
     @Override
     public int hashCode() {
-        return (HASH_CONSTANT * dateLogged.hashCode() + description.hashCode());
+        return (HASH_CONSTANT * Long.hashCode(timeLogged) + type.ordinal() * 31 + tick);
     }
 
     @Override
     public String toString() {
-        return dateLogged.toString() + "\n" + description;
+        return getDate().toString() + "\n" + getDescription();
     }
 }
@@ -1,59 +1,379 @@
 package model;
 
+import java.lang.invoke.VarHandle;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
 
 /**
- * Represents a log of alarm system events.
+ * Represents a log of game events.
  * We use the Singleton Design Pattern to ensure that there is only
  * one EventLog in the system and that the system has global access
  * to the single instance of the EventLog.
+ * The log is a fixed-size ring of structured events that any thread can
+ * add to without locking or allocating; once the ring is full, the
+ * oldest events are overwritten. Events are only turned into objects,
+ * and their messages formatted, when the log is iterated.
+ * An event identical to the newest one in the log, apart from its tick,
+ * is folded into that entry as a repeat when its type is coalesced.
+ * A single consumer, such as a file sink, can take events from the log
+ * in order; with the BLOCK overflow policy producers wait for it rather
+ * than overwrite events it has not taken yet.
  */
 public class EventLog implements Iterable<Event> {
+    /** the number of events kept by a log unless given otherwise */
+    public static final int DEFAULT_CAPACITY = 1 << 12;
     /** the only EventLog in the system (Singleton Design Pattern) */
-    private static EventLog theLog;
-    private Collection<Event> events;
+    private static final EventLog theLog = new EventLog(DEFAULT_CAPACITY);
+    private static final long WRITING = 0;
+    private static final long BLOCKED_PARK_NANOS = 100000;
+    private final int mask;
+    private final EventType[] types;
+    private final int[] ticks;
+    private final long[] times;
+    private final int[] args;
+    private final int[] repeats;
+    private final int[] lastTicks;
+    /** sequence + 1 of the event in each slot, WRITING while a new event is written to it */
+    private final AtomicLongArray published;
+    /** the number of writes to each slot, odd while one is in progress */
+    private final AtomicLongArray versions;
+    private final AtomicLong next;
+    private final AtomicLong start;
+    /** bit i is set if events of the type with ordinal i are coalesced */
+    private final AtomicLong coalesced;
+    /** the sequence of the next event the consumer will take */
+    private final AtomicLong consumed;
+    private volatile OverflowPolicy policy;
+    /** the thread that takes events, woken by producers waiting for it */
+    private volatile Thread consumerThread;
+    private final long originMillis;
+    private final long originNanos;
 
     /**
      * Prevent external construction.
      * (Singleton Design Pattern).
+     * @param capacity  the number of events kept, a power of two
      */
-    private EventLog() {
-        events = new ArrayList<Event>();
+    private EventLog(int capacity) {
+        mask = capacity - 1;
+        types = new EventType[capacity];
+        ticks = new int[capacity];
+        times = new long[capacity];
+        args = new int[capacity * 2];
+        repeats = new int[capacity];
+        lastTicks = new int[capacity];
+        published = new AtomicLongArray(capacity);
+        versions = new AtomicLongArray(capacity);
+        next = new AtomicLong();
+        start = new AtomicLong();
+        long defaults = 0;
+        for (EventType type : EventType.values()) {
+            if (type.isCoalescedByDefault()) {
+                defaults |= 1L << type.ordinal();
+            }
+        }
+        coalesced = new AtomicLong(defaults);
+        consumed = new AtomicLong();
+        policy = OverflowPolicy.DROP;
+        originMillis = System.currentTimeMillis();
+        originNanos = System.nanoTime();
     }
 
     /**
-     * Gets instance of EventLog - creates it
-     * if it doesn't already exist.
+     * Gets instance of EventLog.
      * (Singleton Design Pattern)
      * @return  instance of EventLog
      */
     public static EventLog getInstance() {
-        if (theLog == null) {
-            theLog = new EventLog();
-        }
         return theLog;
     }
 
     /**
-     * Adds an event to the event log.
-     * @param e the event to be added
+     * Creates a new EventLog that is separate from the single instance
+     * of the system, so that a simulation running off the main game can
+     * keep its events to itself.
+     * @return  a new, empty EventLog
+     */
+    public static EventLog newDetachedLog() {
+        return newDetachedLog(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new, separate EventLog as above that keeps the given
+     * number of events.
+     * @param capacity  the number of events kept, a power of two
+     * @return  a new, empty EventLog
+     */
+    public static EventLog newDetachedLog(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two: " + capacity);
+        }
+        return new EventLog(capacity);
+    }
+
+    /**
+     * Adds an event without arguments to the event log.
+     * @param type  the type of the event
+     * @param tick  the game tick at which the event happened
+     */
+    public void logEvent(EventType type, int tick) {
+        logEvent(type, tick, 0, 0);
+    }
+
+    /**
+     * Adds an event with one argument to the event log.
+     * @param type  the type of the event
+     * @param tick  the game tick at which the event happened
+     * @param arg0  the argument of the event's message
+     */
+    public void logEvent(EventType type, int tick, int arg0) {
+        logEvent(type, tick, arg0, 0);
+    }
+
+    /**
+     * Adds an event with two arguments to the event log, overwriting
+     * the oldest event if the log is full, or counts it as a repeat of
+     * the newest event if that is identical and the type is coalesced.
+     * Safe to call from any thread.
+     * @param type  the type of the event
+     * @param tick  the game tick at which the event happened
+     * @param arg0  the first argument of the event's message
+     * @param arg1  the second argument of the event's message
+     */
+    public void logEvent(EventType type, int tick, int arg0, int arg1) {
+        if (isCoalescing(type) && repeatNewest(type, tick, arg0, arg1)) {
+            return;
+        }
+        long sequence = next.getAndIncrement();
+        while (policy == OverflowPolicy.BLOCK && sequence - consumed.get() > mask) {
+            Thread consumer = consumerThread;
+            if (consumer != null) {
+                LockSupport.unpark(consumer);
+            }
+            LockSupport.parkNanos(BLOCKED_PARK_NANOS);
+        }
+        int slot = (int) sequence & mask;
+        long version = claim(slot);
+        published.set(slot, WRITING);
+        VarHandle.storeStoreFence();
+        types[slot] = type;
+        ticks[slot] = tick;
+        times[slot] = System.nanoTime();
+        args[slot * 2] = arg0;
+        args[slot * 2 + 1] = arg1;
+        repeats[slot] = 1;
+        lastTicks[slot] = tick;
+        published.set(slot, sequence + 1);
+        versions.set(slot, version + 1);
+    }
+
+    /**
+     * Sets whether repeats of events of the given type are folded into
+     * one entry of the log.
+     * @param type  the type of events
+     * @param coalesce  true to fold repeats, false to log each event
      */
-    public void logEvent(Event e) {
-        events.add(e);
+    public void setCoalescing(EventType type, boolean coalesce) {
+        long bit = 1L << type.ordinal();
+        coalesced.getAndUpdate(bits -> coalesce ? (bits | bit) : (bits & ~bit));
+    }
+
+    /**
+     * Checks whether repeats of events of the given type are folded.
+     * @param type  the type of events
+     * @return  true if repeats are folded into one entry
+     */
+    public boolean isCoalescing(EventType type) {
+        return (coalesced.get() & (1L << type.ordinal())) != 0;
     }
 
     /**
      * Clears the event log and logs the event.
      */
     public void clear() {
-        events.clear();
-        logEvent(new Event("Event log cleared."));
+        start.set(next.get());
+        logEvent(EventType.LOG_CLEARED, 0);
     }
 
+    /**
+     * Attaches the consumer of the log, which takes events from the
+     * oldest one in the log on, and reports its progress with
+     * setConsumed; there is at most one consumer at a time.
+     * @param overflow  what producers do once the log is full of events
+     *                  the consumer has not taken yet
+     * @return  the sequence of the first event for the consumer
+     */
+    public long attachConsumer(OverflowPolicy overflow) {
+        long oldest = getOldest();
+        consumed.set(oldest);
+        policy = overflow;
+        return oldest;
+    }
+
+    /**
+     * Sets the thread the consumer takes events on, which producers
+     * waiting for free slots wake up rather than wait for it to poll.
+     * @param thread  the thread of the consumer, or null if it has none
+     */
+    public void setConsumerThread(Thread thread) {
+        consumerThread = thread;
+    }
+
+    /**
+     * Records that the consumer has taken every event before the given
+     * sequence, freeing their slots for blocked producers.
+     * @param sequence  the sequence of the next event the consumer will take
+     */
+    public void setConsumed(long sequence) {
+        consumed.set(sequence);
+    }
+
+    /**
+     * Detaches the consumer; producers no longer wait for it.
+     */
+    public void detachConsumer() {
+        policy = OverflowPolicy.DROP;
+        consumerThread = null;
+    }
+
+    /**
+     * Gets the sequence of the oldest event still in the log; with the
+     * BLOCK policy, events the consumer has not taken are never overwritten.
+     * @return  the sequence of the oldest event, getLogged() if there is none
+     */
+    public long getOldest() {
+        long overwritten = next.get() - getCapacity();
+        if (policy == OverflowPolicy.BLOCK) {
+            overwritten = Math.min(overwritten, consumed.get());
+        }
+        return Math.max(start.get(), overwritten);
+    }
+
+    /**
+     * Gets the event with the given sequence number.
+     * @param sequence  the sequence number of the event
+     * @return  the event, or null if it was overwritten, cleared or is still being written
+     */
+    public Event getEvent(long sequence) {
+        if (sequence < start.get()) {
+            return null;
+        }
+        return read(sequence);
+    }
+
+    /**
+     * Gets the number of events the log keeps.
+     * @return  the capacity of the log
+     */
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Gets the number of events logged since the log was created.
+     * @return  the number of events logged, including overwritten ones
+     */
+    public long getLogged() {
+        return next.get();
+    }
+
+    /**
+     * Iterates over a copy of the events currently in the log, oldest
+     * first; events that are overwritten or still being written while
+     * the copy is made are left out.
+     * @return  an iterator over the events in the log
+     */
     @Override
     public Iterator<Event> iterator() {
+        long end = next.get();
+        long first = Math.max(start.get(), end - getCapacity());
+        List<Event> events = new ArrayList<>((int) (end - first));
+        for (long sequence = first; sequence < end; sequence++) {
+            Event event = read(sequence);
+            if (event != null) {
+                events.add(event);
+            }
+        }
         return events.iterator();
     }
+
+    /**
+     * Counts the event as a repeat of the newest event in the log, if
+     * the two are identical apart from their ticks. The newest entry is
+     * taken over by making its version odd, so a producer that loses the
+     * race for it logs a new entry instead; it stays published meanwhile,
+     * and readers wait for the version to change back.
+     * @return  true if the event was folded into the newest entry
+     */
+    private boolean repeatNewest(EventType type, int tick, int arg0, int arg1) {
+        long newest = next.get() - 1;
+        if (newest < start.get()) {
+            return false;
+        }
+        int slot = (int) newest & mask;
+        long version = versions.get(slot);
+        if ((version & 1) != 0 || !versions.compareAndSet(slot, version, version + 1)) {
+            return false;
+        }
+        boolean same = published.get(slot) == newest + 1 && types[slot] == type
+                && args[slot * 2] == arg0 && args[slot * 2 + 1] == arg1 && next.get() == newest + 1;
+        if (same) {
+            repeats[slot]++;
+            lastTicks[slot] = tick;
+        }
+        versions.set(slot, version + 2);
+        return same;
+    }
+
+    /**
+     * Takes over the slot for writing by making its version odd, waiting
+     * for any write in progress to end first.
+     * @param slot  the index of the slot
+     * @return  the odd version of the slot while this write is in progress
+     */
+    private long claim(int slot) {
+        while (true) {
+            long version = versions.get(slot);
+            if ((version & 1) == 0 && versions.compareAndSet(slot, version, version + 1)) {
+                return version + 1;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Reads the event with the given sequence number, reading it again
+     * if its slot was written to meanwhile.
+     * @param sequence  the sequence number of the event
+     * @return  the event, or null if its slot no longer or does not yet hold it
+     */
+    private Event read(long sequence) {
+        int slot = (int) sequence & mask;
+        while (true) {
+            long version = versions.get(slot);
+            if (published.get(slot) != sequence + 1) {
+                return null;
+            }
+            if ((version & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            EventType type = types[slot];
+            int tick = ticks[slot];
+            long time = times[slot];
+            int arg0 = args[slot * 2];
+            int arg1 = args[slot * 2 + 1];
+            int repeated = repeats[slot];
+            int lastTick = lastTicks[slot];
+            VarHandle.loadLoadFence();
+            if (versions.get(slot) == version) {
+                return new Event(type, tick, originMillis + (time - originNanos) / 1000000, arg0, arg1,
+                        repeated, lastTick);
+            }
+        }
+    }
 }
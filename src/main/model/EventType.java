@@ -0,0 +1,46 @@
+package model;
+
+// Represents the kinds of events in the event log, each with the message it is described by;
+// events only carry their int arguments, the message is formatted when the event is read
+public enum EventType {
+    GAME_STARTED("\nGame started!", false, false),
+    LEVEL_COMPLETED("Level successfully completed in %1$d seconds", false, false),
+    DIED("Death from spike at %1$d seconds", false, false),
+    FELL("Fell to your demise at %1$d seconds", false, false),
+    LEFT_EDGE("Attempted to go beyond left edge", false, true),
+    RIGHT_EDGE("Attempted to go beyond right edge", false, true),
+    TOP_EDGE("Attempted to go beyond top edge", false, true),
+    POWER_UP_COLLECTED("Picked up \"%1$s\" power-up \n Assigned \"%2$d\" key to %1$s power-up", true, false),
+    INVENTORY_FULL("Inventory full. Did not pick up \"%1$s\" power-up.", true, true),
+    POWER_UP_USED("Used %1$s from slot \"%2$d\"", true, false),
+    LOG_CLEARED("Event log cleared.", false, false);
+
+    public static final int UNKNOWN_KIND = -1;
+    private static final EntityKind[] KINDS = EntityKind.values();
+    private final String pattern;
+    private final boolean namesKind;
+    private final boolean coalesced;
+
+    // EFFECTS: constructs a type described by pattern, whose first argument is the ordinal of
+    // an EntityKind, written as the kind's name, or UNKNOWN_KIND, written as "unknown", if namesKind; repeats of an event of this type
+    // are folded into one entry of the log by default if coalesced
+    EventType(String pattern, boolean namesKind, boolean coalesced) {
+        this.pattern = pattern;
+        this.namesKind = namesKind;
+        this.coalesced = coalesced;
+    }
+
+    // EFFECTS: returns true if logs fold repeats of events of this type unless configured otherwise
+    public boolean isCoalescedByDefault() {
+        return coalesced;
+    }
+
+    // EFFECTS: returns the message of an event of this type with the given arguments
+    public String describe(int arg0, int arg1) {
+        Object first = Integer.valueOf(arg0);
+        if (namesKind) {
+            first = (arg0 >= 0 && arg0 < KINDS.length) ? KINDS[arg0].getName() : "unknown";
+        }
+        return String.format(pattern, first, arg1);
+    }
+}
@@ -1,14 +1,20 @@
 package model;
 
 import persistence.Writable;
-import ui.GameGUI;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
 import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Supplier;
 
 // Class representing the game as a whole, handles movement,
 // handles power-up inventory (max 3 power-ups) and usage
@@ -20,9 +26,17 @@ public class Game implements Writable {
     public static final String INVULNERABLE = "invulnerability";
     public static final String HAZARD = "hazard";
     public static final String FINISH = "finish";
+    public static final int DEFAULT_TILE_SIZE = GameEntity.DEFAULT_SIZE;
+    public static final int DEFAULT_TICK_RATE = 60;
+    public static final int RUN_VELOCITY = 5;
+    public static final int JUMP_VELOCITY = -21;
+    public static final int COMMAND_QUEUE_CAPACITY = 64;
     private static final int GRAVITY = 1;
+    private static final int INITIAL_JOURNAL_CAPACITY = 16;
     private final int maxX;
     private final int maxY;
+    private final int tileSize;
+    private final int tickRate;
     // Character's starting position as a field for the convenience of tests
     public final int startingPosX;
     public final int startingPosY;
@@ -31,19 +45,56 @@ public class Game implements Writable {
     public final int scrollYUp;
     public final int scrollYDown;
     private final HashSet<Block> blocks;
+    private final Set<Block> blocksView;
+    private final SpatialGrid grid;
+    private final List<Block> nearby;
+    private final ContactBuffer contacts;
+    private final ContactBuffer probe;
+    private TileMap tileMap;
+    private final BitSet collectedTiles;
+    private Block[] removedBlocks;
+    private int[] removedTiles;
+    private int removals;
+    private CollisionSolver collisionSolver;
     private final Inventory inventory;
     private Character character;
+    private int cameraX;
+    private int cameraY;
     private int time;
     private int invulnerabilityEnd;
     private int speedEnd;
     private boolean ended;
     private boolean success;
+    private final EventLog log;
+    private InputScript recording;
+    private final CommandQueue commands;
+    private int collisionTests;
+    private TickProfiler profiler;
+    private long loggingNanos;
 
     // EFFECTS: constructs a new game with maximum x and y coordinate boundaries; initializes the
     // player's character and power-up inventory
     public Game(int maxX, int maxY) {
+        this(maxX, maxY, DEFAULT_TILE_SIZE, DEFAULT_TICK_RATE);
+    }
+
+    // REQUIRES: tileSize > 0, tickRate > 0
+    // EFFECTS: constructs a new game with maximum x and y coordinate boundaries, where entities
+    // are tileSize pixels wide and tickRate ticks make up one second of game time;
+    // initializes the player's character and power-up inventory
+    public Game(int maxX, int maxY, int tileSize, int tickRate) {
+        this(maxX, maxY, tileSize, tickRate, EventLog.getInstance());
+    }
+
+    // REQUIRES: tileSize > 0, tickRate > 0
+    // EFFECTS: constructs a new game as above whose events are logged to log
+    // instead of the system's event log
+    public Game(int maxX, int maxY, int tileSize, int tickRate, EventLog log) {
+        this.log = log;
         this.maxX = maxX;
         this.maxY = maxY;
+        this.tileSize = tileSize;
+        this.tickRate = tickRate;
         this.startingPosX = this.maxX / 4;
         this.startingPosY = this.maxY * 3 / 5;
         this.scrollXRight = this.maxX * 9 / 20;
@@ -51,28 +102,149 @@ public class Game implements Writable {
         this.scrollYUp = this.maxY / 5;
         this.scrollYDown = startingPosY;
         this.character = new Character(startingPosX, startingPosY);
+        this.character.setSize(tileSize);
         this.blocks = new HashSet<>();
+        this.blocksView = Collections.unmodifiableSet(this.blocks);
+        this.grid = new SpatialGrid(tileSize);
+        this.nearby = new ArrayList<>();
+        this.contacts = new ContactBuffer();
+        this.probe = new ContactBuffer();
+        this.tileMap = null;
+        this.collectedTiles = new BitSet();
+        this.removedBlocks = new Block[INITIAL_JOURNAL_CAPACITY];
+        this.removedTiles = new int[INITIAL_JOURNAL_CAPACITY];
+        this.removals = 0;
+        this.collisionSolver = CollisionSolver.SWEPT;
         this.inventory = new Inventory(this);
+        this.cameraX = 0;
+        this.cameraY = 0;
         this.time = 0;
         this.invulnerabilityEnd = 0;
         this.speedEnd = 0;
         this.ended = false;
         this.success = false;
-        EventLog.getInstance().logEvent(new Event("\nGame started!"));
+        this.recording = null;
+        this.commands = new CommandQueue(COMMAND_QUEUE_CAPACITY);
+        logEvent(EventType.GAME_STARTED, 0);
     }
 
-    // MODIFIES: this
-    // EFFECTS: adds a block to list of blocks in the game
+    // MODIFIES: this, block
+    // EFFECTS: sizes the block to the game's tiles and adds it to list of blocks
+    // in the game and to the collision index
     public void addBlock(Block block) {
-        this.blocks.add(block);
+        block.setSize(this.tileSize);
+        if (this.blocks.add(block)) {
+            this.grid.insert(block);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes a block from the list of blocks in the game and from the
+    // collision index, or if it stands for a tile of the tile map, removes that tile
+    // from this game; returns true if the block or tile was in the game; every removal is
+    // journaled so that it can be undone
+    public boolean removeBlock(Block block) {
+        if (this.blocks.remove(block)) {
+            this.grid.remove(block);
+            journalRemoval(block, -1);
+            return true;
+        }
+        if (this.tileMap != null && block.getKind() != null) {
+            int col = this.tileMap.columnOf(block.getPositionX());
+            int row = this.tileMap.rowOf(block.getPositionY());
+            int size = this.tileMap.getTileSize();
+            if (col * size == block.getPositionX() && row * size == block.getPositionY()
+                    && getTileKind(col, row) == block.getKind()) {
+                int index = this.tileMap.indexOf(col, row);
+                this.collectedTiles.set(index);
+                journalRemoval(null, index);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records that block, or the tile at index if block is null, was removed
+    private void journalRemoval(Block block, int index) {
+        if (this.removals == this.removedBlocks.length) {
+            this.removedBlocks = Arrays.copyOf(this.removedBlocks, this.removals * 2);
+            this.removedTiles = Arrays.copyOf(this.removedTiles, this.removals * 2);
+        }
+        this.removedBlocks[this.removals] = block;
+        this.removedTiles[this.removals] = index;
+        this.removals++;
+    }
+
+    // EFFECTS: returns the number of removals made so far, as a mark to undo removals back to
+    public int getRemovalCount() {
+        return removals;
+    }
+
+    // REQUIRES: 0 <= count <= getRemovalCount()
+    // MODIFIES: this
+    // EFFECTS: puts back every block and tile removed since getRemovalCount() returned count,
+    // in reverse order; costs time proportional to the number of removals undone
+    public void undoRemovals(int count) {
+        while (this.removals > count) {
+            this.removals--;
+            Block block = this.removedBlocks[this.removals];
+            if (block == null) {
+                this.collectedTiles.clear(this.removedTiles[this.removals]);
+            } else if (this.blocks.add(block)) {
+                this.grid.insert(block);
+            }
+            this.removedBlocks[this.removals] = null;
+        }
     }
 
     // MODIFIES: this
-    // EFFECTS: progresses the game state, handles velocity changes
+    // EFFECTS: sets the static tiles of the level, tiles are not copied so the same
+    // map can be shared between games
+    public void setTileMap(TileMap tileMap) {
+        this.tileMap = tileMap;
+        this.collectedTiles.clear();
+    }
+
+    public TileMap getTileMap() {
+        return tileMap;
+    }
+
+    // EFFECTS: returns the kind of the tile at (col, row) of the tile map, or null if there is
+    // no tile there or it is a power-up that has been collected in this game
+    public EntityKind getTileKind(int col, int row) {
+        if (this.tileMap == null) {
+            return null;
+        }
+        byte code = this.tileMap.getTile(col, row);
+        if (code == TileMap.EMPTY || this.collectedTiles.get(this.tileMap.indexOf(col, row))) {
+            return null;
+        }
+        return EntityKind.fromCode(code);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: applies the queued commands in the order they were queued, then
+    // progresses the game state, handles velocity changes
     // due to gravity and handles speed-up expiry before detecting collisions;
-    // then handles any boundary behaviour
+    // then handles any boundary behaviour; if the game has a profiler, each phase
+    // is timed, less the time spent logging events during it, which is timed on its
+    // own, and the number of collision tests is counted
     public int tick() {
+        TickProfiler profiler = this.profiler;
+        long start = (profiler != null) ? System.nanoTime() : 0;
+        long lap = start;
+        if (profiler != null) {
+            this.collisionTests = 0;
+            this.loggingNanos = 0;
+        }
+        for (Command command = this.commands.poll(); command != null; command = this.commands.poll()) {
+            applyCommand(command);
+        }
         scroll();
+        if (profiler != null) {
+            lap = lapPhase(profiler, TickProfiler.Metric.SCROLL, lap);
+        }
 
         this.time += UNIT_PER_TICK;
         this.character.setVelocityY(this.character.getVelocityY() + GRAVITY);
@@ -84,38 +256,174 @@ public class Game implements Writable {
                 this.character.setVelocityXMultiplier(-1);
             }
         }
+        if (profiler != null) {
+            lap = lapPhase(profiler, TickProfiler.Metric.PHYSICS, lap);
+        }
 
         moveResolveCollisions();
+        if (profiler != null) {
+            lap = lapPhase(profiler, TickProfiler.Metric.COLLISIONS, lap);
+        }
+        int result = 0;
         if (this.ended) {
             if (this.success) {
-                EventLog.getInstance().logEvent(new Event(
-                        "Level successfully completed in " + (time / GameGUI.FPS) + " seconds"));
-                return 0;
+                logEvent(EventType.LEVEL_COMPLETED, time / tickRate);
+            } else {
+                logEvent(EventType.DIED, time / tickRate);
+                result = 1;
+            }
+        } else {
+            resolveBoundaries();
+            boolean fell = atBottomBoundary();
+            if (profiler != null) {
+                lapPhase(profiler, TickProfiler.Metric.BOUNDARIES, lap);
             }
-            EventLog.getInstance().logEvent(new Event(
-                    "Death from spike at " + (time / GameGUI.FPS) + " seconds"));
-            return 1;
+            if (fell) {
+                this.ended = true;
+                logEvent(EventType.FELL, time / tickRate);
+            }
+        }
+        if (profiler != null) {
+            profiler.lap(TickProfiler.Metric.TICK, start);
+            profiler.record(TickProfiler.Metric.COLLISION_TESTS, this.collisionTests);
         }
-        resolveBoundaries();
+        return result;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records the time since lap, less the time spent logging since then, as a
+    // sample of metric; returns the current time, to start timing the next phase
+    private long lapPhase(TickProfiler profiler, TickProfiler.Metric metric, long lap) {
+        long now = System.nanoTime();
+        profiler.record(metric, Math.max(now - lap - this.loggingNanos, 0));
+        this.loggingNanos = 0;
+        return now;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: logs an event of the given type and argument at the current tick to the game's event log
+    private void logEvent(EventType type, int arg) {
+        logEvent(type, arg, 0);
+    }
 
-        if (atBottomBoundary()) {
-            this.ended = true;
-            EventLog.getInstance().logEvent(new Event(
-                    "Fell to your demise at " + (time / GameGUI.FPS) + " seconds"));
+    // MODIFIES: this
+    // EFFECTS: logs an event of the given type and arguments at the current tick to the game's
+    // event log; if the game has a profiler, the time taken is recorded as logging and left out
+    // of the phase of the tick the event was logged in
+    void logEvent(EventType type, int arg0, int arg1) {
+        TickProfiler profiler = this.profiler;
+        long start = (profiler != null) ? System.nanoTime() : 0;
+        this.log.logEvent(type, this.time, arg0, arg1);
+        if (profiler != null) {
+            this.loggingNanos += profiler.lap(TickProfiler.Metric.LOGGING, start) - start;
         }
-        return 0;
     }
 
     // REQUIRES: list of blocks in the game to not be empty
     // MODIFIES: this
     // EFFECTS: moves character vertically and checks all blocks for collisions,
     // behaviour depends on block in collision with; then moves character
-    // horizontally and repeat the same procedure
+    // horizontally and repeat the same procedure; uses the selected collision solver
     protected void moveResolveCollisions() {
 //        moveResolveCollisionsY();
 //        moveResolveCollisionsX();
-        moveResolveCollisionsYGui();
-        moveResolveCollisionsXGui();
+        if (this.collisionSolver == CollisionSolver.SWEPT) {
+            moveResolveCollisionsYSwept();
+            moveResolveCollisionsXSwept();
+        } else {
+            moveResolveCollisionsYGui();
+            moveResolveCollisionsXGui();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves character vertically by its full velocity in one sweep, resolving every
+    // block touched along the way in contact order; movement stops at the first normal block
+    protected void moveResolveCollisionsYSwept() {
+        int vy = this.character.getVelocityY();
+        if (vy == 0) {
+            return;
+        }
+        int unitVelocity = (vy < 0) ? -1 : 1;
+        int distance = (vy < 0) ? (vy * -1) : vy;
+        int originalY = this.character.getPositionY();
+        int contactCount = sweep(true, unitVelocity, distance);
+
+        boolean blocked = false;
+        for (int i = 0; i < contactCount && !blocked; i++) {
+            blocked = this.contacts.getKind(i) == EntityKind.BLOCK;
+            resolveContactY(i, unitVelocity);
+        }
+        if (!blocked) {
+            this.character.setPositionY(originalY + unitVelocity * distance);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: moves character horizontally by its full velocity in one sweep, resolving every
+    // block touched along the way in contact order; movement stops at the first normal block
+    protected void moveResolveCollisionsXSwept() {
+        int vx = this.character.getVelocityX() * this.character.getVelocityXMultiplier();
+        if (vx == 0) {
+            return;
+        }
+        int unitVelocity = (vx < 0) ? -1 : 1;
+        int distance = (vx < 0) ? (vx * -1) : vx;
+        int originalX = this.character.getPositionX();
+        int contactCount = sweep(false, unitVelocity, distance);
+
+        boolean blocked = false;
+        for (int i = 0; i < contactCount && !blocked; i++) {
+            blocked = this.contacts.getKind(i) == EntityKind.BLOCK;
+            resolveContactX(i, unitVelocity);
+        }
+        if (!blocked) {
+            this.character.setPositionX(originalX + unitVelocity * distance);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: finds every block the character would collide with when moving distance pixels
+    // in direction unitVelocity along the vertical or horizontal axis; stores them at the front
+    // of contacts sorted by the pixel step at which contact begins (power-ups, hazards and the
+    // finish line before normal blocks on the same step) and returns how many there are
+    private int sweep(boolean vertical, int unitVelocity, int distance) {
+        int left = this.character.getLeft();
+        int right = this.character.getRight();
+        int top = this.character.getTop();
+        int bottom = this.character.getBottom();
+        int start = vertical ? top : left;
+        int extent = vertical ? (bottom - top) : (right - left);
+        int travel = unitVelocity * distance;
+
+        this.contacts.clear();
+        if (vertical) {
+            collectOverlapping(left, Math.min(top, top + travel), right, Math.max(bottom, bottom + travel),
+                    this.contacts);
+        } else {
+            collectOverlapping(Math.min(left, left + travel), top, Math.max(right, right + travel), bottom,
+                    this.contacts);
+        }
+
+        int touched = 0;
+        for (int i = 0; i < this.contacts.size(); i++) {
+            // the character overlaps the block along the sweep axis while its leading coordinate
+            // is strictly between (near edge - extent) and the far edge of the block
+            int low = (vertical ? this.contacts.getTop(i) : this.contacts.getLeft(i)) - extent + 1;
+            int high = (vertical ? this.contacts.getBottom(i) : this.contacts.getRight(i)) - 1;
+            int firstStep = (unitVelocity == 1) ? (low - start) : (start - high);
+            int lastStep = (unitVelocity == 1) ? (high - start) : (start - low);
+            firstStep = Math.max(firstStep, 1);
+            if (firstStep <= Math.min(lastStep, distance)) {
+                int solid = (this.contacts.getKind(i) == EntityKind.BLOCK) ? 1 : 0;
+                this.contacts.setOrder(i, firstStep * 2 + solid);
+                touched++;
+            } else {
+                this.contacts.setOrder(i, Integer.MAX_VALUE);
+            }
+        }
+        this.contacts.sort();
+        return touched;
     }
 
     // REQUIRES: list of blocks in the game to not be empty
@@ -129,38 +437,52 @@ public class Game implements Writable {
         for (int i = 0; i < vy; i++) {
             int originalY = this.character.getPositionY();
             this.character.setPositionY(originalY + unitVelocity);
-            List<GameEntity> collided = checkCollisionList();
-            if (collided.size() != 0) {
-                resolveCollisionsY(collided.get(0), unitVelocity);
-                if (collided.size() > 1) {
-                    resolveCollisionsY(collided.get(1), unitVelocity);
+            int collided = findCollisions();
+            if (collided != 0) {
+                resolveContactY(0, unitVelocity);
+                if (collided > 1) {
+                    resolveContactY(1, unitVelocity);
                 }
             }
         }
     }
 
     // algorithm from Resolving Platform Collisions tutorial by Long Nguyen on YouTube
+    // REQUIRES: 0 <= i < contacts.size()
     // MODIFIES: this
     // EFFECTS: stop movement of character 1 position back if collided with a normal block,
     // set game to ended if collision occurs with a hazard while not invulnerable,
     // set game to ended and successful if collided with a finish line block;
     // also handles collecting power-ups using a helper method
-    protected void resolveCollisionsY(GameEntity collision, int unitVelocity) {
-        String collisionType = collision.getName();
-        if (collisionType.equals(HAZARD) && (this.time >= this.invulnerabilityEnd)) {
-            this.ended = true;
-        } else if (collisionType.equals(SPEED) ^ collisionType.equals(INVULNERABLE)) {
-            collectPowerUp((PowerUp) collision);
-        } else if (collisionType.equals(BLOCK)) {
-            if (unitVelocity == 1) {
-                this.character.setBottom(collision.getTop());
-            } else {
-                this.character.setTop(collision.getBottom());
-            }
-            this.character.setVelocityY(0);
-        } else if (collisionType.equals(FINISH)) {
-            this.ended = true;
-            this.success = true;
+    protected void resolveContactY(int i, int unitVelocity) {
+        EntityKind collisionType = this.contacts.getKind(i);
+        if (collisionType == null) {
+            return;
+        }
+        switch (collisionType) {
+            case HAZARD:
+                if (this.time >= this.invulnerabilityEnd) {
+                    this.ended = true;
+                }
+                break;
+            case SPEED:
+            case INVULNERABLE:
+                collectContact(i);
+                break;
+            case BLOCK:
+                if (unitVelocity == 1) {
+                    this.character.setBottom(this.contacts.getTop(i));
+                } else {
+                    this.character.setTop(this.contacts.getBottom(i));
+                }
+                this.character.setVelocityY(0);
+                break;
+            case FINISH:
+                this.ended = true;
+                this.success = true;
+                break;
+            default:
+                break;
         }
     }
 
@@ -175,41 +497,75 @@ public class Game implements Writable {
         for (int i = 0; i < vx; i++) {
             int originalX = this.character.getPositionX();
             this.character.setPositionX(originalX + unitVelocity);
-            List<GameEntity> collided = checkCollisionList();
-            if (collided.size() != 0) {
-                resolveCollisionsX(collided.get(0), unitVelocity);
-                if (collided.size() > 1) {
-                    resolveCollisionsX(collided.get(1), unitVelocity);
+            int collided = findCollisions();
+            if (collided != 0) {
+                resolveContactX(0, unitVelocity);
+                if (collided > 1) {
+                    resolveContactX(1, unitVelocity);
                 }
             }
         }
     }
 
     // algorithm from Resolving Platform Collisions tutorial by Long Nguyen on YouTube
+    // REQUIRES: 0 <= i < contacts.size()
     // MODIFIES: this
     // EFFECTS: stop movement of character 1 position back if collided with a normal block,
     // set game to ended if collision occurs with a hazard while not invulnerable,
     // set game to ended and successful if collided with a finish line block;
     // also handles collecting power-ups using a helper method
-    protected void resolveCollisionsX(GameEntity collision, int unitVelocity) {
-        String collisionType = collision.getName();
-        if (collisionType.equals(HAZARD) && (this.time >= this.invulnerabilityEnd)) {
-            this.ended = true;
-        } else if (collisionType.equals(SPEED) ^ collisionType.equals(INVULNERABLE)) {
-            collectPowerUp((PowerUp) collision);
-        } else if (collisionType.equals(BLOCK)) {
-            if (unitVelocity == 1) {
-                this.character.setRight(collision.getLeft());
-            } else {
-                this.character.setLeft(collision.getRight());
-            }
-            this.character.setVelocityX(0);
-        } else if (collisionType.equals(FINISH)) {
-            this.ended = true;
-            this.success = true;
+    protected void resolveContactX(int i, int unitVelocity) {
+        EntityKind collisionType = this.contacts.getKind(i);
+        if (collisionType == null) {
+            return;
+        }
+        switch (collisionType) {
+            case HAZARD:
+                if (this.time >= this.invulnerabilityEnd) {
+                    this.ended = true;
+                }
+                break;
+            case SPEED:
+            case INVULNERABLE:
+                collectContact(i);
+                break;
+            case BLOCK:
+                if (unitVelocity == 1) {
+                    this.character.setRight(this.contacts.getLeft(i));
+                } else {
+                    this.character.setLeft(this.contacts.getRight(i));
+                }
+                this.character.setVelocityX(0);
+                break;
+            case FINISH:
+                this.ended = true;
+                this.success = true;
+                break;
+            default:
+                break;
         }
     }
 
+    // REQUIRES: contact at index i is a power-up
+    // MODIFIES: this
+    // EFFECTS: collects the power-up at contact index i, creating its PowerUp object first
+    // if it is a tile of the tile map
+    private void collectContact(int i) {
+        Block block = this.contacts.getBlock(i);
+        if (block == null) {
+            block = newTileBlock(this.contacts.getKind(i), this.contacts.getLeft(i), this.contacts.getTop(i));
+        }
+        collectPowerUp((PowerUp) block);
+    }
+
+    // REQUIRES: kind is not PLAYER
+    // EFFECTS: returns a new block standing for the tile of the given kind at (x, y)
+    private Block newTileBlock(EntityKind kind, int x, int y) {
+        Block block = kind.newBlock(x, y);
+        block.setSize(this.tileMap.getTileSize());
+        return block;
+    }
+
     // EFFECTS: returns true if ge1 collided with ge2
     protected boolean isCollided(GameEntity ge1, GameEntity ge2) {
         int ge2X = ge2.getPositionX();
@@ -219,85 +575,236 @@ public class Game implements Writable {
 
     // EFFECTS: returns true if ge1 collided with ge2
     protected boolean checkCollided(GameEntity ge1, GameEntity ge2) {
-        boolean notCollidedX = ge1.getRight() <= ge2.getLeft() || ge1.getLeft() >= ge2.getRight();
-        boolean notCollidedY = ge1.getTop() >= ge2.getBottom() || ge1.getBottom() <= ge2.getTop();
+        return overlaps(ge1.getLeft(), ge1.getTop(), ge1.getRight(), ge1.getBottom(),
+                ge2.getLeft(), ge2.getTop(), ge2.getRight(), ge2.getBottom());
+    }
+
+    // EFFECTS: returns true if the boxes with the given inclusive bounds collide,
+    // boxes that only share an edge do not collide
+    private static boolean overlaps(int left1, int top1, int right1, int bottom1,
+                                    int left2, int top2, int right2, int bottom2) {
+        boolean notCollidedX = right1 <= left2 || left1 >= right2;
+        boolean notCollidedY = top1 >= bottom2 || bottom1 <= top2;
         return !notCollidedX && !notCollidedY;
     }
 
+    // MODIFIES: out
+    // EFFECTS: appends to out every block in the game and every tile of the tile map that
+    // collides with the box with the given inclusive bounds; returns the number appended
+    protected int collectOverlapping(int left, int top, int right, int bottom, ContactBuffer out) {
+        int start = out.size();
+        this.nearby.clear();
+        this.grid.query(left, top, right, bottom, this.nearby);
+        if (this.profiler != null) {
+            this.collisionTests += this.nearby.size();
+        }
+        for (int i = 0; i < this.nearby.size(); i++) {
+            Block block = this.nearby.get(i);
+            if (overlaps(left, top, right, bottom, block.getLeft(), block.getTop(), block.getRight(),
+                    block.getBottom())) {
+                out.add(block.getKind(), block.getLeft(), block.getTop(), block.getRight(), block.getBottom(),
+                        block);
+            }
+        }
+        if (this.tileMap != null) {
+            int size = this.tileMap.getTileSize();
+            int maxCol = this.tileMap.columnOf(right);
+            int maxRow = this.tileMap.rowOf(bottom);
+            if (this.profiler != null) {
+                this.collisionTests += (maxCol - this.tileMap.columnOf(left) + 1)
+                        * (maxRow - this.tileMap.rowOf(top) + 1);
+            }
+            for (int col = this.tileMap.columnOf(left); col <= maxCol; col++) {
+                for (int row = this.tileMap.rowOf(top); row <= maxRow; row++) {
+                    EntityKind kind = getTileKind(col, row);
+                    int tileLeft = col * size;
+                    int tileTop = row * size;
+                    if (kind != null && overlaps(left, top, right, bottom,
+                            tileLeft, tileTop, tileLeft + size - 1, tileTop + size - 1)) {
+                        out.add(kind, tileLeft, tileTop, tileLeft + size - 1, tileTop + size - 1, null);
+                    }
+                }
+            }
+        }
+        return out.size() - start;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: replaces contacts with every block and tile in collision with the character
+    // and returns how many there are
+    private int findCollisions() {
+        this.contacts.clear();
+        return queryCollisions(this.contacts);
+    }
+
+    // MODIFIES: out
+    // EFFECTS: appends to out every block and tile in collision with the character, without
+    // creating any objects for tiles; returns the number appended
+    public int queryCollisions(ContactBuffer out) {
+        return collectOverlapping(this.character.getLeft(), this.character.getTop(),
+                this.character.getRight(), this.character.getBottom(), out);
+    }
+
+    // MODIFIES: out
+    // EFFECTS: appends to out every block and tile that collides with the box with the given
+    // inclusive bounds, without creating any objects for tiles; returns the number appended
+    public int queryCollisions(int left, int top, int right, int bottom, ContactBuffer out) {
+        return collectOverlapping(left, top, right, bottom, out);
+    }
+
+    // MODIFIES: out
+    // EFFECTS: appends to out every block in the game whose grid cells overlap the box with the
+    // given inclusive bounds, which includes every block overlapping the box and may include
+    // blocks just outside it; returns the number appended
+    public int queryBlocks(int left, int top, int right, int bottom, List<Block> out) {
+        return this.grid.query(left, top, right, bottom, out);
+    }
+
     // algorithm from Sprite Collision Detection tutorial by Long Nguyen on YouTube
     // REQUIRES: list of blocks in the game to not be empty
-    // EFFECTS: returns a list of blocks in collision with c
+    // EFFECTS: returns a list of blocks in collision with c, only testing the blocks
+    // indexed in the grid cells and the tiles that the character overlaps; tiles
+    // in collision are returned as new blocks at the tile's position; allocates the list
+    // and tile blocks on every call, so the game itself uses queryCollisions instead
     protected List<GameEntity> checkCollisionList() {
         List<GameEntity> collided = new ArrayList<>();
-        for (GameEntity ge : blocks) {
-            if (checkCollided(character, ge)) {
-                collided.add(ge);
+        this.probe.clear();
+        queryCollisions(this.probe);
+        for (int i = 0; i < this.probe.size(); i++) {
+            Block block = this.probe.getBlock(i);
+            if (block == null) {
+                block = newTileBlock(this.probe.getKind(i), this.probe.getLeft(i), this.probe.getTop(i));
             }
+            collided.add(block);
         }
         return collided;
     }
 
-    // REQUIRES: list of blocks in the game to not be empty
-    // EFFECTS: returns true if p is currently on a platform
+    // EFFECTS: returns true if p is currently on a platform, i.e. something collides with the
+    // character's box moved down by one pixel; the character itself is not moved
     public boolean onPlatform() {
-        int currentY = character.getPositionY();
-        character.setPositionY(currentY + 1);
-        List<GameEntity> collided = checkCollisionList();
-        character.setPositionY(currentY);
-        return (collided.size() != 0);
+        this.probe.clear();
+        return collectOverlapping(this.character.getLeft(), this.character.getTop() + 1,
+                this.character.getRight(), this.character.getBottom() + 1, this.probe) != 0;
     }
 
     // MODIFIES: this
-    // EFFECTS: returns true if p is at the edge of the game (but not bottom)
+    // EFFECTS: keeps the character within the left, right and top edges of the
+    // camera's view of the game (but not bottom)
     protected void resolveBoundaries() {
-        int charaX = this.character.getPositionX();
-        int charaY = this.character.getPositionY();
-        if (charaX < 0) {
-            this.character.setPositionX(0);
-            EventLog.getInstance().logEvent(new Event("Attempted to go beyond left edge"));
-        } else if (charaX > maxX) {
-            this.character.setPositionX(maxX);
-            EventLog.getInstance().logEvent(new Event("Attempted to go beyond right edge"));
+        int screenX = this.character.getPositionX() - this.cameraX;
+        int screenY = this.character.getPositionY() - this.cameraY;
+        if (screenX < 0) {
+            this.character.setPositionX(this.cameraX);
+            logEvent(EventType.LEFT_EDGE, 0);
+        } else if (screenX > maxX) {
+            this.character.setPositionX(this.cameraX + maxX);
+            logEvent(EventType.RIGHT_EDGE, 0);
         }
-        if (charaY < 0) {
-            this.character.setPositionY(0);
-            EventLog.getInstance().logEvent(new Event("Attempted to go beyond top edge"));
+        if (screenY < 0) {
+            this.character.setPositionY(this.cameraY);
+            logEvent(EventType.TOP_EDGE, 0);
         }
     }
 
-    // EFFECTS: returns true if c is at the bottom edge of the game
+    // EFFECTS: returns true if c is below the bottom edge of the camera's view of the game
     protected boolean atBottomBoundary() {
-        return character.getPositionY() > maxY;
+        return character.getPositionY() - cameraY > maxY;
     }
 
     // MODIFIES: this
-    // EFFECTS: moves all entities in the game to simulate camera movement
-    // if the character moves past certain boundaries
+    // EFFECTS: moves the camera to follow the character if the character moves past
+    // certain boundaries of the view; entities keep their world positions and are
+    // offset by the camera only when drawn
     protected void scroll() {
-        int offsetX = 0;
-        int offsetY = 0;
-        if (character.getPositionX() > scrollXRight) {
-            offsetX = scrollXRight - character.getPositionX();
-        } else if (character.getPositionX() < scrollXLeft) {
-            offsetX = scrollXLeft - character.getPositionX();
+        int screenX = character.getPositionX() - cameraX;
+        int screenY = character.getPositionY() - cameraY;
+        if (screenX > scrollXRight) {
+            cameraX += screenX - scrollXRight;
+        } else if (screenX < scrollXLeft) {
+            cameraX += screenX - scrollXLeft;
+        }
+        if (screenY < scrollYUp) {
+            cameraY += screenY - scrollYUp;
+        } else if (screenY > scrollYDown) {
+            cameraY += screenY - scrollYDown;
         }
-        if (character.getPositionY() < scrollYUp) {
-            offsetY = scrollYUp - character.getPositionY();
-        } else if (character.getPositionY() > scrollYDown) {
-            offsetY = scrollYDown - character.getPositionY();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: queues a player's input to be applied at the start of the next tick, so that
+    // only the thread ticking the game changes its state; safe to call from any thread;
+    // returns false, dropping the command, if the queue is full
+    public boolean queueCommand(Command command) {
+        return this.commands.offer(command);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: applies a player's input to the game: LEFT/RIGHT start the character running
+    // in that direction, RELEASE stops it, JUMP makes it jump if it is on a platform, and
+    // USE_1/2/3 use the power-up assigned to that key if there is one; the command is added
+    // to the recording, if any, tagged with the current game time
+    public void applyCommand(Command command) {
+        if (this.recording != null) {
+            this.recording.add(this.time, command);
         }
+        switch (command) {
+            case LEFT:
+                run(-1);
+                break;
+            case RIGHT:
+                run(1);
+                break;
+            case RELEASE:
+                this.character.setVelocityX(0);
+                break;
+            case JUMP:
+                if (onPlatform()) {
+                    this.character.setVelocityY(JUMP_VELOCITY);
+                }
+                break;
+            case USE_1:
+                searchAndUse("1");
+                break;
+            case USE_2:
+                searchAndUse("2");
+                break;
+            case USE_3:
+                searchAndUse("3");
+                break;
+            default:
+                break;
+        }
+    }
 
-        translate(character, offsetX, offsetY);
-        for (Block block : blocks) {
-            translate(block, offsetX, offsetY);
+    // MODIFIES: this
+    // EFFECTS: sets the character's base velocity to RUN_VELOCITY and changes direction of the
+    // velocity multiplier if not already in direction dir, where < 0 is left and > 0 is right
+    private void run(int dir) {
+        int currentMultiplier = this.character.getVelocityXMultiplier();
+        this.character.setVelocityX(RUN_VELOCITY);
+        if ((currentMultiplier > 0 && dir < 0) || (currentMultiplier < 0 && dir > 0)) {
+            this.character.setVelocityXMultiplier(currentMultiplier * -1);
         }
     }
 
+    // REQUIRES: key is "1", "2," or "3"
     // MODIFIES: this
-    // EFFECTS: moves an entity given the X and Y offsets
-    protected void translate(GameEntity thing, int offsetX, int offsetY) {
-        thing.setPositionX(thing.getPositionX() + offsetX);
-        thing.setPositionY(thing.getPositionY() + offsetY);
+    // EFFECTS: if the key is not available to be assigned, a power-up can be
+    // located from the inventory with the assigned key and will be used
+    private void searchAndUse(String key) {
+        if (!getAvailableKeys().contains(key)) {
+            PowerUp toUse = null;
+            for (PowerUp pu : getInventory()) {
+                if (pu.getKeyAssignment().equals(key)) {
+                    toUse = pu;
+                    break;
+                }
+            }
+            if (toUse != null) {
+                usePowerUp(toUse);
+            }
+        }
     }
 
     // REQUIRES: pu in list of blocks in the game
@@ -323,17 +830,37 @@ public class Game implements Writable {
     // no need to keep track of available keys as the loading of
     // saved inventory will use a helper that assigns the original keys
     public JSONObject toJson() {
+        return captureJson().get();
+    }
+
+    // EFFECTS: returns a supplier, to be called once, of this as a JSONObject as it is now;
+    // everything but the remaining tiles of the tile map is turned into JSON right away, and
+    // those tiles are only added when the supplier is called, so that the chunks that are not
+    // resident can be read from the map's source on another thread while the game goes on;
+    // the supplier throws UncheckedIOException if a chunk cannot be read
+    public Supplier<JSONObject> captureJson() {
         JSONObject json = new JSONObject();
+        JSONArray blocks = blocksToJson();
         json.put("maxX", this.maxX);
         json.put("maxY", this.maxY);
         json.put("character", this.character.toJson());
-        json.put("blocks", blocksToJson());
+        json.put("blocks", blocks);
         json.put("inventory", inventoryToJson());
+        json.put("cameraX", this.cameraX);
+        json.put("cameraY", this.cameraY);
         json.put("time", this.time);
         json.put("invulnerabilityEnd", this.invulnerabilityEnd);
         json.put("speedEnd", this.speedEnd);
         json.put("ended", this.ended);
-        return json;
+        if (this.tileMap == null) {
+            return () -> json;
+        }
+        TileMap map = this.tileMap;
+        BitSet collected = (BitSet) this.collectedTiles.clone();
+        return () -> {
+            tilesToJson(map, collected, blocks);
+            return json;
+        };
     }
 
     // EFFECTS: returns blocks in the game in the form of a JSONArray
@@ -346,6 +873,35 @@ public class Game implements Writable {
         return jsonArray;
     }
 
+    // MODIFIES: jsonArray
+    // EFFECTS: appends the tiles of map not in collected to jsonArray as blocks, reading chunks
+    // that are not resident from the map's source; throws UncheckedIOException if one cannot be read
+    private static void tilesToJson(TileMap map, BitSet collected, JSONArray jsonArray) {
+        int size = map.getTileSize();
+        int rows = map.getRows();
+        byte[] buffer = new byte[map.getChunkLength()];
+        for (int chunk = 0; chunk < map.getChunkCount(); chunk++) {
+            byte[] tiles;
+            try {
+                tiles = map.readChunk(chunk, buffer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            int firstCol = chunk * map.getChunkColumns();
+            int lastCol = Math.min(firstCol + map.getChunkColumns(), map.getColumns());
+            for (int col = firstCol; col < lastCol; col++) {
+                for (int row = 0; row < rows; row++) {
+                    EntityKind kind = EntityKind.fromCode(tiles[(col - firstCol) * rows + row]);
+                    if (kind != null && !collected.get(map.indexOf(col, row))) {
+                        Block block = kind.newBlock(col * size, row * size);
+                        block.setSize(size);
+                        jsonArray.put(block.toJson());
+                    }
+                }
+            }
+        }
+    }
+
     // EFFECTS: returns inventory of the player in the form of a JSON array
     private JSONArray inventoryToJson() {
         JSONArray jsonArray = new JSONArray();
@@ -368,6 +924,14 @@ public class Game implements Writable {
         inventory.removeAvailableKey(key);
     }
 
+    // REQUIRES: count <= Inventory.CAPACITY, keys[offset..offset+count) are distinct keys "1", "2" or "3"
+    // MODIFIES: this, items
+    // EFFECTS: replaces the inventory with items[offset..offset+count), assigned the keys at the
+    // same positions of keys
+    public void restoreInventory(PowerUp[] items, String[] keys, int offset, int count) {
+        inventory.restore(items, keys, offset, count);
+    }
+
     public int getInvulnerabilityEnd() {
         return invulnerabilityEnd;
     }
@@ -388,12 +952,17 @@ public class Game implements Writable {
         return character;
     }
 
+    // MODIFIES: this, character
+    // EFFECTS: replaces the player's character, sized to the game's tiles
     public void setCharacter(Character character) {
+        character.setSize(this.tileSize);
         this.character = character;
     }
 
-    public HashSet<Block> getBlocks() {
-        return blocks;
+    // EFFECTS: returns a read-only view of the blocks in the game, blocks must be
+    // added and removed through the game so the collision index stays in sync
+    public Set<Block> getBlocks() {
+        return blocksView;
     }
 
     public List<PowerUp> getInventory() {
@@ -404,6 +973,45 @@ public class Game implements Writable {
         return inventory.getAvailableKeys();
     }
 
+    public int getCameraX() {
+        return cameraX;
+    }
+
+    public int getCameraY() {
+        return cameraY;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: places the top-left corner of the camera's view at world coordinate (x, y)
+    public void setCamera(int cameraX, int cameraY) {
+        this.cameraX = cameraX;
+        this.cameraY = cameraY;
+    }
+
+    public InputScript getRecording() {
+        return recording;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records every command applied from now on into recording, or stops recording if null
+    public void setRecording(InputScript recording) {
+        this.recording = recording;
+    }
+
+    public TickProfiler getProfiler() {
+        return profiler;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records the phases of every tick from now on into profiler, or stops profiling if null
+    public void setProfiler(TickProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    public EventLog getEventLog() {
+        return log;
+    }
+
     public int getTime() {
         return time;
     }
@@ -424,6 +1032,26 @@ public class Game implements Writable {
         this.ended = ended;
     }
 
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public CollisionSolver getCollisionSolver() {
+        return collisionSolver;
+    }
+
+    public void setCollisionSolver(CollisionSolver collisionSolver) {
+        this.collisionSolver = collisionSolver;
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    public int getTickRate() {
+        return tickRate;
+    }
+
     public int getMaxX() {
         return maxX;
     }
@@ -443,13 +1071,13 @@ public class Game implements Writable {
             this.character.setPositionY(originalY + unitVelocity);
             List<GameEntity> collided = checkCollisionList();
             if (collided.size() != 0) {
-                String collisionType = collided.get(0).getName();
-                if (collisionType.equals(HAZARD) && (this.time >= this.invulnerabilityEnd)) {
+                EntityKind collisionType = collided.get(0).getKind();
+                if (collisionType == EntityKind.HAZARD && (this.time >= this.invulnerabilityEnd)) {
                     this.ended = true;
                     break;
-                } else if (collisionType.equals(SPEED) ^ collisionType.equals(INVULNERABLE)) {
+                } else if (collisionType != null && collisionType.isPowerUp()) {
                     collectPowerUp((PowerUp) collided.get(0));
-                } else if (collisionType.equals(BLOCK)) {
+                } else if (collisionType == EntityKind.BLOCK) {
                     this.character.setPositionY(originalY);
                     this.character.setVelocityY(0);
                 }
@@ -468,13 +1096,13 @@ public class Game implements Writable {
             this.character.setPositionX(originalX + unitVelocity);
             List<GameEntity> collided = checkCollisionList();
             if (collided.size() != 0) {
-                String collisionType = collided.get(0).getName();
-                if (collisionType.equals(HAZARD) && (this.time >= this.invulnerabilityEnd)) {
+                EntityKind collisionType = collided.get(0).getKind();
+                if (collisionType == EntityKind.HAZARD && (this.time >= this.invulnerabilityEnd)) {
                     this.ended = true;
                     break;
-                } else if (collisionType.equals(SPEED) ^ collisionType.equals(INVULNERABLE)) {
+                } else if (collisionType != null && collisionType.isPowerUp()) {
                     collectPowerUp((PowerUp) collided.get(0));
-                } else if (collisionType.equals(BLOCK)) {
+                } else if (collisionType == EntityKind.BLOCK) {
                     this.character.setPositionX(originalX);
                     this.character.setVelocityX(0);
                 }
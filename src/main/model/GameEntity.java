@@ -1,25 +1,37 @@
 package model;
 
 import persistence.Writable;
-import ui.GameGUI;
 
+// Class representing a square entity in the game with a position, side length and name
 public abstract class GameEntity implements Writable {
+    public static final int DEFAULT_SIZE = 50;
     private int positionX;
     private int positionY;
+    private int size;
     private String name;
+    private EntityKind kind;
 
     public GameEntity(int posX, int posY, String name) {
         positionX = posX;
         positionY = posY;
-        this.name = name;
+        size = DEFAULT_SIZE;
+        setName(name);
     }
 
     public String getName() {
         return name;
     }
 
+    // MODIFIES: this
+    // EFFECTS: sets the name of this entity and the kind saved under that name
     public void setName(String name) {
         this.name = name;
+        this.kind = EntityKind.fromName(name);
+    }
+
+    // EFFECTS: returns the kind of this entity, or null if its name is not a known kind
+    public EntityKind getKind() {
+        return kind;
     }
 
     public int getPositionX() {
@@ -39,11 +51,11 @@ public abstract class GameEntity implements Writable {
     }
 
     public int getRight() {
-        return getPositionX() + GameGUI.GRID_UNIT - 1;
+        return getPositionX() + size - 1;
     }
 
     public void setRight(int newRight) {
-        setPositionX(newRight - GameGUI.GRID_UNIT + 1);
+        setPositionX(newRight - size + 1);
     }
 
     public int getTop() {
@@ -55,11 +67,19 @@ public abstract class GameEntity implements Writable {
     }
 
     public int getBottom() {
-        return getPositionY() + GameGUI.GRID_UNIT - 1;
+        return getPositionY() + size - 1;
     }
 
     public void setBottom(int newBottom) {
-        setPositionY(newBottom - GameGUI.GRID_UNIT + 1);
+        setPositionY(newBottom - size + 1);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
     }
 
     public void setPositionX(int positionX) {
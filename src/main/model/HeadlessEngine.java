@@ -0,0 +1,99 @@
+package model;
+
+// Class representing a simulation of a game without any display: a plain loop that
+// ticks the game as fast as the CPU allows, applying scripted commands as their
+// game time comes up, and keeps track of how many ticks per second it achieved
+public class HeadlessEngine {
+    private static final double NANOS_PER_SECOND = 1000000000.0;
+    private final Game game;
+    private final InputScript script;
+    private int nextCommand;
+    private long ticksRun;
+    private long elapsedNanos;
+    private boolean died;
+    private TickListener listener;
+    private int listenerInterval;
+
+    // EFFECTS: constructs an engine that drives game with the commands of script
+    public HeadlessEngine(Game game, InputScript script) {
+        this.game = game;
+        this.script = script;
+        this.nextCommand = 0;
+        this.ticksRun = 0;
+        this.elapsedNanos = 0;
+        this.died = false;
+        this.listener = null;
+        this.listenerInterval = 1;
+    }
+
+    // REQUIRES: interval > 0
+    // MODIFIES: this
+    // EFFECTS: notifies listener after every interval-th tick of game time, e.g. to render
+    // every Nth frame of a replay; a null listener stops notifications
+    public void setTickListener(TickListener listener, int interval) {
+        this.listener = listener;
+        this.listenerInterval = interval;
+    }
+
+    // REQUIRES: maxTicks >= 0
+    // MODIFIES: this
+    // EFFECTS: steps the game until it has ended or maxTicks ticks have run;
+    // returns the number of ticks run
+    public long run(long maxTicks) {
+        long start = System.nanoTime();
+        long ran = 0;
+        while (ran < maxTicks && !this.game.isEnded()) {
+            step();
+            ran++;
+        }
+        this.elapsedNanos += System.nanoTime() - start;
+        this.ticksRun += ran;
+        return ran;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: applies every scripted command due at or before the current game time,
+    // then ticks the game once; returns the result of the tick
+    public int step() {
+        int now = this.game.getTime();
+        while (this.nextCommand < this.script.size() && this.script.getTick(this.nextCommand) <= now) {
+            this.game.applyCommand(this.script.getCommand(this.nextCommand));
+            this.nextCommand++;
+        }
+        int result = this.game.tick();
+        if (result == 1) {
+            this.died = true;
+        }
+        if (this.listener != null && this.game.getTime() % this.listenerInterval == 0) {
+            this.listener.ticked(this.game);
+        }
+        return result;
+    }
+
+    // EFFECTS: returns how the run has ended so far, TIMED_OUT if the game is still going
+    public RunOutcome getOutcome() {
+        if (!this.game.isEnded()) {
+            return RunOutcome.TIMED_OUT;
+        } else if (this.game.isSuccess()) {
+            return RunOutcome.COMPLETED;
+        }
+        return this.died ? RunOutcome.DIED : RunOutcome.FELL;
+    }
+
+    // EFFECTS: returns the average number of ticks simulated per second of real time
+    // over every call to run, or 0 if nothing has been run
+    public double getTicksPerSecond() {
+        if (this.elapsedNanos == 0) {
+            return 0;
+        }
+        return this.ticksRun * NANOS_PER_SECOND / this.elapsedNanos;
+    }
+
+    public long getTicksRun() {
+        return ticksRun;
+    }
+
+    public Game getGame() {
+        return game;
+    }
+}
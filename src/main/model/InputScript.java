@@ -0,0 +1,62 @@
+package model;
+
+// Class representing a script of player commands, each tagged with the game time
+// (in ticks) at which it is applied, kept in order of game time
+public class InputScript {
+    private static final int INITIAL_CAPACITY = 16;
+    private int[] ticks;
+    private Command[] commands;
+    private int size;
+
+    // EFFECTS: constructs an empty script
+    public InputScript() {
+        this.ticks = new int[INITIAL_CAPACITY];
+        this.commands = new Command[INITIAL_CAPACITY];
+        this.size = 0;
+    }
+
+    // REQUIRES: tick >= 0
+    // MODIFIES: this
+    // EFFECTS: adds a command applied when the game time is tick, after any
+    // commands already in the script for the same tick
+    public void add(int tick, Command command) {
+        if (size == ticks.length) {
+            int[] newTicks = new int[size * 2];
+            Command[] newCommands = new Command[size * 2];
+            System.arraycopy(ticks, 0, newTicks, 0, size);
+            System.arraycopy(commands, 0, newCommands, 0, size);
+            ticks = newTicks;
+            commands = newCommands;
+        }
+        int i = size;
+        while (i > 0 && ticks[i - 1] > tick) {
+            ticks[i] = ticks[i - 1];
+            commands[i] = commands[i - 1];
+            i--;
+        }
+        ticks[i] = tick;
+        commands[i] = command;
+        size++;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes every command applied at or after tick
+    public void truncate(int tick) {
+        while (size > 0 && ticks[size - 1] >= tick) {
+            size--;
+            commands[size] = null;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getTick(int i) {
+        return ticks[i];
+    }
+
+    public Command getCommand(int i) {
+        return commands[i];
+    }
+}
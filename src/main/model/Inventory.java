@@ -1,11 +1,10 @@
 package model;
 
-import ui.GameGUI;
-
 import java.util.ArrayList;
 import java.util.List;
 
 public class Inventory {
+    public static final int CAPACITY = 3;
     private final List<PowerUp> inventory;
     private final List<String> availableKeys;
     private final Game game;
@@ -28,16 +27,14 @@ public class Inventory {
         this.availableKeys.sort(null);
         if (this.availableKeys.size() != 0) {
             pu.setKeyAssignment(this.availableKeys.get(0));
-            EventLog.getInstance().logEvent(new Event(
-                    "Picked up \"" + pu.getName() + "\" power-up \n "
-                            + "Assigned \"" + this.availableKeys.get(0) + "\" key to " + pu.getName() + " power-up"));
+            game.logEvent(EventType.POWER_UP_COLLECTED, kindOf(pu),
+                    Integer.parseInt(this.availableKeys.get(0)));
             this.availableKeys.remove(0);
             this.inventory.add(pu);
-            game.getBlocks().remove(pu);
+            game.removeBlock(pu);
             return true;
         }
-        EventLog.getInstance().logEvent(new Event(
-                "Inventory full. Did not pick up \"" + pu.getName() + "\" power-up."));
+        game.logEvent(EventType.INVENTORY_FULL, kindOf(pu), 0);
         return false;
     }
 
@@ -50,7 +47,7 @@ public class Inventory {
     public void usePowerUp(PowerUp pu) {
         this.inventory.remove(pu);
         this.availableKeys.add(pu.getKeyAssignment());
-        if (pu.getName().equals(Game.INVULNERABLE)) {
+        if (pu.getKind() == EntityKind.INVULNERABLE) {
             game.setInvulnerabilityEnd(game.getTime() + Game.POWER_UP_TIME);
         } else {
             game.setSpeedEnd(game.getTime() + Game.POWER_UP_TIME);
@@ -59,11 +56,17 @@ public class Inventory {
                 game.getCharacter().setVelocityXMultiplier(currentMultiplier * 2);
             }
         }
-        EventLog.getInstance().logEvent(new Event(
-                "Used " + pu.getName() + " from slot \"" + pu.getKeyAssignment() + "\""));
+        game.logEvent(EventType.POWER_UP_USED, kindOf(pu), Integer.parseInt(pu.getKeyAssignment()));
         pu.setKeyAssignment(null);
     }
 
+    // EFFECTS: returns the ordinal of the kind of pu, or EventType.UNKNOWN_KIND if its name,
+    // e.g. one read from a save file, is not the name of a kind
+    private static int kindOf(PowerUp pu) {
+        EntityKind kind = pu.getKind();
+        return (kind == null) ? EventType.UNKNOWN_KIND : kind.ordinal();
+    }
+
     // MODIFIES: this
     // EFFECTS: adds a power-up to the inventory
     public void addPowerUpToInventory(PowerUp pu) {
@@ -76,6 +79,23 @@ public class Inventory {
         this.availableKeys.remove(key);
     }
 
+    // REQUIRES: count <= CAPACITY, keys[offset..offset+count) are distinct keys "1", "2" or "3"
+    // MODIFIES: this, items
+    // EFFECTS: replaces the inventory with items[offset..offset+count), assigned the keys at the
+    // same positions of keys; every other key becomes available
+    public void restore(PowerUp[] items, String[] keys, int offset, int count) {
+        this.inventory.clear();
+        this.availableKeys.clear();
+        this.availableKeys.add("1");
+        this.availableKeys.add("2");
+        this.availableKeys.add("3");
+        for (int i = offset; i < offset + count; i++) {
+            items[i].setKeyAssignment(keys[i]);
+            this.inventory.add(items[i]);
+            this.availableKeys.remove(keys[i]);
+        }
+    }
+
     public List<PowerUp> getInventory() {
         return inventory;
     }
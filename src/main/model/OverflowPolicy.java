@@ -0,0 +1,8 @@
+package model;
+
+// Represents what an event log does when it is full and its consumer has not yet taken the
+// oldest event: overwrite that event, or make the producer wait for the consumer
+public enum OverflowPolicy {
+    DROP,
+    BLOCK
+}
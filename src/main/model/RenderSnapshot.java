@@ -0,0 +1,203 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Class representing what is needed to draw one tick of a game on a view of a fixed size: the
+// camera, the character, the inventory, the time, and the blocks and power-up tiles within the
+// view and a margin of one tile around it, found through the game's spatial index rather than
+// by testing every block; the blocks left out are counted as culled; it is captured on the
+// thread running the game and not changed until it is captured again, so another thread can
+// draw it while the game goes on; the static tiles of the tile map are not copied, since they
+// never change during a game
+public class RenderSnapshot {
+    private static final int INITIAL_SPRITES = 64;
+    private final EntityKind[] items;
+    private final List<Block> nearby;
+    private int[] spriteX;
+    private int[] spriteY;
+    private EntityKind[] spriteKinds;
+    private int sprites;
+    private int culled;
+    private TileMap tileMap;
+    private int cameraX;
+    private int cameraY;
+    private boolean hasCharacter;
+    private int characterX;
+    private int characterY;
+    private int direction;
+    private boolean invulnerable;
+    private int time;
+    private int tickRate;
+
+    // EFFECTS: constructs an empty snapshot, of no character and no blocks
+    public RenderSnapshot() {
+        this.items = new EntityKind[Inventory.CAPACITY];
+        this.nearby = new ArrayList<>();
+        this.spriteX = new int[INITIAL_SPRITES];
+        this.spriteY = new int[INITIAL_SPRITES];
+        this.spriteKinds = new EntityKind[INITIAL_SPRITES];
+        this.tickRate = Game.DEFAULT_TICK_RATE;
+    }
+
+    // REQUIRES: only called from the thread running game, while no other thread reads this
+    // MODIFIES: this
+    // EFFECTS: replaces the state held with the state of game as seen by a view of width
+    // by height pixels at its camera; keeps the blocks and the uncollected power-up tiles
+    // that overlap the view widened by one tile on every side, blocks first
+    public void capture(Game game, int width, int height) {
+        this.tileMap = game.getTileMap();
+        this.cameraX = game.getCameraX();
+        this.cameraY = game.getCameraY();
+        this.time = game.getTime();
+        this.tickRate = game.getTickRate();
+        Character character = game.getCharacter();
+        this.hasCharacter = character != null;
+        if (this.hasCharacter) {
+            this.characterX = character.getPositionX();
+            this.characterY = character.getPositionY();
+            this.direction = Integer.signum(character.getVelocityXMultiplier());
+        }
+        this.invulnerable = this.time < game.getInvulnerabilityEnd();
+        captureItems(game.getInventory());
+        this.sprites = 0;
+        int size = game.getTileSize();
+        int left = this.cameraX - size;
+        int top = this.cameraY - size;
+        int right = this.cameraX + width + size - 1;
+        int bottom = this.cameraY + height + size - 1;
+        this.nearby.clear();
+        game.queryBlocks(left, top, right, bottom, this.nearby);
+        for (int i = 0; i < this.nearby.size(); i++) {
+            Block block = this.nearby.get(i);
+            if (block.getRight() >= left && block.getLeft() <= right
+                    && block.getBottom() >= top && block.getTop() <= bottom) {
+                addSprite(block.getPositionX(), block.getPositionY(), block.getKind());
+            }
+        }
+        this.nearby.clear();
+        this.culled = game.getBlocks().size() - this.sprites;
+        if (this.tileMap != null) {
+            captureTiles(game, left, top, right, bottom);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: keeps the kind of each item in the inventory at the index of its key
+    private void captureItems(List<PowerUp> inventory) {
+        Arrays.fill(this.items, null);
+        for (PowerUp pu : inventory) {
+            String key = pu.getKeyAssignment();
+            if (key != null && key.length() == 1) {
+                int slot = key.charAt(0) - '1';
+                if (slot >= 0 && slot < this.items.length) {
+                    this.items[slot] = pu.getKind();
+                }
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: keeps the power-up tiles of game's tile map within the box with the given
+    // inclusive bounds
+    private void captureTiles(Game game, int left, int top, int right, int bottom) {
+        int size = this.tileMap.getTileSize();
+        int maxCol = Math.min(this.tileMap.columnOf(right), this.tileMap.getColumns() - 1);
+        int maxRow = Math.min(this.tileMap.rowOf(bottom), this.tileMap.getRows() - 1);
+        for (int col = Math.max(this.tileMap.columnOf(left), 0); col <= maxCol; col++) {
+            for (int row = Math.max(this.tileMap.rowOf(top), 0); row <= maxRow; row++) {
+                EntityKind kind = game.getTileKind(col, row);
+                if (kind != null && kind.isPowerUp()) {
+                    addSprite(col * size, row * size, kind);
+                }
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds a block of kind at (x, y) to the blocks kept, growing the arrays if they are full
+    private void addSprite(int x, int y, EntityKind kind) {
+        if (this.sprites == this.spriteKinds.length) {
+            this.spriteX = Arrays.copyOf(this.spriteX, this.sprites * 2);
+            this.spriteY = Arrays.copyOf(this.spriteY, this.sprites * 2);
+            this.spriteKinds = Arrays.copyOf(this.spriteKinds, this.sprites * 2);
+        }
+        this.spriteX[this.sprites] = x;
+        this.spriteY[this.sprites] = y;
+        this.spriteKinds[this.sprites] = kind;
+        this.sprites++;
+    }
+
+    // EFFECTS: returns the number of blocks kept
+    public int getSprites() {
+        return sprites;
+    }
+
+    // EFFECTS: returns the number of blocks of the game left out for being outside the view
+    public int getCulled() {
+        return culled;
+    }
+
+    // REQUIRES: 0 <= i < getSprites()
+    public int getSpriteX(int i) {
+        return spriteX[i];
+    }
+
+    // REQUIRES: 0 <= i < getSprites()
+    public int getSpriteY(int i) {
+        return spriteY[i];
+    }
+
+    // REQUIRES: 0 <= i < getSprites()
+    public EntityKind getSpriteKind(int i) {
+        return spriteKinds[i];
+    }
+
+    // REQUIRES: 0 <= slot < Inventory.CAPACITY
+    // EFFECTS: returns the kind of the item under key slot + 1, or null if there is none
+    public EntityKind getItem(int slot) {
+        return items[slot];
+    }
+
+    public TileMap getTileMap() {
+        return tileMap;
+    }
+
+    public int getCameraX() {
+        return cameraX;
+    }
+
+    public int getCameraY() {
+        return cameraY;
+    }
+
+    public boolean hasCharacter() {
+        return hasCharacter;
+    }
+
+    public int getCharacterX() {
+        return characterX;
+    }
+
+    public int getCharacterY() {
+        return characterY;
+    }
+
+    // EFFECTS: returns 1 if the character is moving right, -1 if left and 0 if it is not moving
+    public int getDirection() {
+        return direction;
+    }
+
+    public boolean isInvulnerable() {
+        return invulnerable;
+    }
+
+    public int getTime() {
+        return time;
+    }
+
+    public int getTickRate() {
+        return tickRate;
+    }
+}
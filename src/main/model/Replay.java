@@ -0,0 +1,30 @@
+package model;
+
+// Class representing a recorded session: the map it was played on, its length in ticks
+// and the commands applied, each tagged with the game time (in ticks) it took effect on
+public class Replay {
+    private final String map;
+    private final int length;
+    private final InputScript script;
+
+    // REQUIRES: length >= 0
+    // EFFECTS: constructs a replay of a session of length ticks played on map
+    // with the commands in script
+    public Replay(String map, int length, InputScript script) {
+        this.map = map;
+        this.length = length;
+        this.script = script;
+    }
+
+    public String getMap() {
+        return map;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public InputScript getScript() {
+        return script;
+    }
+}
@@ -0,0 +1,9 @@
+package model;
+
+// Enumeration of the ways a simulated run of a level can end
+public enum RunOutcome {
+    COMPLETED,
+    DIED,
+    FELL,
+    TIMED_OUT
+}
@@ -0,0 +1,47 @@
+package model;
+
+// Class representing the result of one simulated run of a level: how it ended, the game
+// time (in ticks) at which it ended, and a copy of the character's final state
+public class RunResult {
+    private final int index;
+    private final RunOutcome outcome;
+    private final int finishTick;
+    private final Character character;
+
+    // EFFECTS: constructs the result of the run of the script at index in a batch
+    public RunResult(int index, RunOutcome outcome, int finishTick, Character character) {
+        this.index = index;
+        this.outcome = outcome;
+        this.finishTick = finishTick;
+        this.character = character;
+    }
+
+    // EFFECTS: returns the result of the run driven by engine, with a copy of its
+    // character so that the result no longer refers to the game
+    public static RunResult of(int index, HeadlessEngine engine) {
+        Game game = engine.getGame();
+        Character last = game.getCharacter();
+        Character copy = new Character(last.getPositionX(), last.getPositionY());
+        copy.setSize(last.getSize());
+        copy.setVelocityX(last.getVelocityX());
+        copy.setVelocityXMultiplier(last.getVelocityXMultiplier());
+        copy.setVelocityY(last.getVelocityY());
+        return new RunResult(index, engine.getOutcome(), game.getTime(), copy);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public RunOutcome getOutcome() {
+        return outcome;
+    }
+
+    public int getFinishTick() {
+        return finishTick;
+    }
+
+    public Character getCharacter() {
+        return character;
+    }
+}
@@ -0,0 +1,127 @@
+package model;
+
+import java.util.List;
+
+// Class representing the most recent states of a game kept for rewinding: a ring of
+// preallocated slots, one per captured tick, overwritten oldest first once full; the tile map
+// and the blocks are not copied, a slot only holds the mark of the game's removal journal so
+// that restoring puts back just the blocks and tiles collected since
+public class SnapshotRing {
+    private static final int POSITION_X = 0;
+    private static final int POSITION_Y = 1;
+    private static final int VELOCITY_X = 2;
+    private static final int MULTIPLIER = 3;
+    private static final int VELOCITY_Y = 4;
+    private static final int TIME = 5;
+    private static final int INVULNERABILITY_END = 6;
+    private static final int SPEED_END = 7;
+    private static final int CAMERA_X = 8;
+    private static final int CAMERA_Y = 9;
+    private static final int FLAGS = 10;
+    private static final int REMOVALS = 11;
+    private static final int ITEMS = 12;
+    private static final int FIELDS = 13;
+    private static final int ENDED = 1;
+    private static final int SUCCESS = 2;
+    private final int capacity;
+    private final int[] state;
+    private final PowerUp[] items;
+    private final String[] keys;
+    private int newest;
+    private int size;
+
+    // REQUIRES: capacity > 0
+    // EFFECTS: constructs an empty ring holding at most capacity snapshots
+    public SnapshotRing(int capacity) {
+        this.capacity = capacity;
+        this.state = new int[capacity * FIELDS];
+        this.items = new PowerUp[capacity * Inventory.CAPACITY];
+        this.keys = new String[capacity * Inventory.CAPACITY];
+        this.newest = capacity - 1;
+        this.size = 0;
+    }
+
+    // REQUIRES: game's inventory holds at most Inventory.CAPACITY power-ups
+    // MODIFIES: this
+    // EFFECTS: records the current state of game as the newest snapshot, overwriting the oldest
+    // if the ring is full; allocates nothing
+    public void capture(Game game) {
+        this.newest = (this.newest + 1) % this.capacity;
+        this.size = Math.min(this.size + 1, this.capacity);
+        int base = this.newest * FIELDS;
+        Character character = game.getCharacter();
+        this.state[base + POSITION_X] = character.getPositionX();
+        this.state[base + POSITION_Y] = character.getPositionY();
+        this.state[base + VELOCITY_X] = character.getVelocityX();
+        this.state[base + MULTIPLIER] = character.getVelocityXMultiplier();
+        this.state[base + VELOCITY_Y] = character.getVelocityY();
+        this.state[base + TIME] = game.getTime();
+        this.state[base + INVULNERABILITY_END] = game.getInvulnerabilityEnd();
+        this.state[base + SPEED_END] = game.getSpeedEnd();
+        this.state[base + CAMERA_X] = game.getCameraX();
+        this.state[base + CAMERA_Y] = game.getCameraY();
+        this.state[base + FLAGS] = (game.isEnded() ? ENDED : 0) | (game.isSuccess() ? SUCCESS : 0);
+        this.state[base + REMOVALS] = game.getRemovalCount();
+
+        List<PowerUp> inventory = game.getInventory();
+        int itemBase = this.newest * Inventory.CAPACITY;
+        for (int i = 0; i < Inventory.CAPACITY; i++) {
+            PowerUp pu = (i < inventory.size()) ? inventory.get(i) : null;
+            this.items[itemBase + i] = pu;
+            this.keys[itemBase + i] = (pu == null) ? null : pu.getKeyAssignment();
+        }
+        this.state[base + ITEMS] = Math.min(inventory.size(), Inventory.CAPACITY);
+    }
+
+    // REQUIRES: steps >= 0, every snapshot in the ring was captured from game
+    // MODIFIES: this, game
+    // EFFECTS: restores game to the snapshot steps captures before the newest one, or to the
+    // oldest snapshot if there are not that many, and discards the snapshots after it; commands
+    // recorded at or after the restored time are dropped from the game's recording;
+    // returns the number of snapshots stepped back, or -1 if the ring is empty
+    public int rewind(Game game, int steps) {
+        if (this.size == 0) {
+            return -1;
+        }
+        int back = Math.min(steps, this.size - 1);
+        this.newest = Math.floorMod(this.newest - back, this.capacity);
+        this.size -= back;
+        int base = this.newest * FIELDS;
+
+        Character character = game.getCharacter();
+        character.setPositionX(this.state[base + POSITION_X]);
+        character.setPositionY(this.state[base + POSITION_Y]);
+        character.setVelocityX(this.state[base + VELOCITY_X]);
+        character.setVelocityXMultiplier(this.state[base + MULTIPLIER]);
+        character.setVelocityY(this.state[base + VELOCITY_Y]);
+        game.setTime(this.state[base + TIME]);
+        game.setInvulnerabilityEnd(this.state[base + INVULNERABILITY_END]);
+        game.setSpeedEnd(this.state[base + SPEED_END]);
+        game.setCamera(this.state[base + CAMERA_X], this.state[base + CAMERA_Y]);
+        game.setEnded((this.state[base + FLAGS] & ENDED) != 0);
+        game.setSuccess((this.state[base + FLAGS] & SUCCESS) != 0);
+        game.undoRemovals(this.state[base + REMOVALS]);
+        game.restoreInventory(this.items, this.keys, this.newest * Inventory.CAPACITY, this.state[base + ITEMS]);
+
+        InputScript recording = game.getRecording();
+        if (recording != null) {
+            recording.truncate(game.getTime());
+        }
+        return back;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: discards every snapshot; power-ups stay referenced until their slots are reused
+    public void clear() {
+        this.size = 0;
+    }
+
+    // EFFECTS: returns the number of snapshots in the ring
+    public int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,199 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Class representing a uniform grid index over the blocks in the game, each block is
+// bucketed into every cell its bounding box overlaps so that collision queries only
+// need to look at the few cells around the character instead of every block in the game
+public class SpatialGrid {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final long EMPTY = Long.MIN_VALUE;
+    private final int cellSize;
+    private long[] keys;
+    private List<Block>[] cells;
+    private int occupied;
+    private int size;
+
+    // REQUIRES: cellSize > 0
+    // EFFECTS: constructs an empty grid with square cells of the given side length
+    public SpatialGrid(int cellSize) {
+        this.cellSize = cellSize;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds block to every cell overlapped by its bounding box
+    public void insert(Block block) {
+        int minCol = colOf(block.getLeft());
+        int maxCol = colOf(block.getRight());
+        int minRow = rowOf(block.getTop());
+        int maxRow = rowOf(block.getBottom());
+        for (int col = minCol; col <= maxCol; col++) {
+            for (int row = minRow; row <= maxRow; row++) {
+                cellFor(col, row).add(block);
+            }
+        }
+        size++;
+    }
+
+    // REQUIRES: block has not moved since it was inserted
+    // MODIFIES: this
+    // EFFECTS: removes block from every cell overlapped by its bounding box;
+    // returns true if the block was indexed
+    public boolean remove(Block block) {
+        int minCol = colOf(block.getLeft());
+        int maxCol = colOf(block.getRight());
+        int minRow = rowOf(block.getTop());
+        int maxRow = rowOf(block.getBottom());
+        boolean removed = false;
+        for (int col = minCol; col <= maxCol; col++) {
+            for (int row = minRow; row <= maxRow; row++) {
+                List<Block> cell = find(col, row);
+                if (cell != null) {
+                    removed |= cell.remove(block);
+                }
+            }
+        }
+        if (removed) {
+            size--;
+        }
+        return removed;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: removes every block from the grid
+    public void clear() {
+        allocate(INITIAL_CAPACITY);
+        size = 0;
+    }
+
+    // MODIFIES: out
+    // EFFECTS: appends to out every indexed block whose cells overlap the box with the given
+    // inclusive pixel bounds, each block appears at most once; returns the number appended
+    public int query(int left, int top, int right, int bottom, List<Block> out) {
+        int start = out.size();
+        int minCol = colOf(left);
+        int maxCol = colOf(right);
+        int minRow = rowOf(top);
+        int maxRow = rowOf(bottom);
+        for (int col = minCol; col <= maxCol; col++) {
+            for (int row = minRow; row <= maxRow; row++) {
+                List<Block> cell = find(col, row);
+                if (cell == null) {
+                    continue;
+                }
+                for (int i = 0; i < cell.size(); i++) {
+                    Block block = cell.get(i);
+                    if (!alreadyFound(out, start, block)) {
+                        out.add(block);
+                    }
+                }
+            }
+        }
+        return out.size() - start;
+    }
+
+    // EFFECTS: returns the number of blocks in the grid
+    public int size() {
+        return size;
+    }
+
+    public int getCellSize() {
+        return cellSize;
+    }
+
+    // EFFECTS: returns the column of the cell containing the given x coordinate
+    private int colOf(int x) {
+        return Math.floorDiv(x, cellSize);
+    }
+
+    // EFFECTS: returns the row of the cell containing the given y coordinate
+    private int rowOf(int y) {
+        return Math.floorDiv(y, cellSize);
+    }
+
+    // EFFECTS: returns true if block was already appended to out at or after index start;
+    // blocks only repeat when they straddle a cell boundary, so this list is tiny
+    private boolean alreadyFound(List<Block> out, int start, Block block) {
+        for (int i = start; i < out.size(); i++) {
+            if (out.get(i) == block) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // EFFECTS: packs a cell's column and row into a single hash key
+    private static long key(int col, int row) {
+        return ((long) col << 32) | (row & 0xFFFFFFFFL);
+    }
+
+    // EFFECTS: spreads the bits of key so that neighbouring cells land in different slots
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 40) & (keys.length - 1);
+    }
+
+    // EFFECTS: returns the bucket for the given cell, or null if the cell has never held a block
+    private List<Block> find(int col, int row) {
+        long key = key(col, row);
+        for (int i = slot(key); keys[i] != EMPTY; i = (i + 1) & (keys.length - 1)) {
+            if (keys[i] == key) {
+                return cells[i];
+            }
+        }
+        return null;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the bucket for the given cell, creating it if needed
+    private List<Block> cellFor(int col, int row) {
+        long key = key(col, row);
+        int i = slot(key);
+        while (keys[i] != EMPTY) {
+            if (keys[i] == key) {
+                return cells[i];
+            }
+            i = (i + 1) & (keys.length - 1);
+        }
+        List<Block> cell = new ArrayList<>(1);
+        keys[i] = key;
+        cells[i] = cell;
+        occupied++;
+        if (occupied * 2 > keys.length) {
+            grow();
+        }
+        return cell;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: doubles the table capacity and re-inserts all buckets
+    private void grow() {
+        long[] oldKeys = keys;
+        List<Block>[] oldCells = cells;
+        allocate(oldKeys.length * 2);
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != EMPTY) {
+                int i = slot(oldKeys[j]);
+                while (keys[i] != EMPTY) {
+                    i = (i + 1) & (keys.length - 1);
+                }
+                keys[i] = oldKeys[j];
+                cells[i] = oldCells[j];
+                occupied++;
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: replaces the table with an empty one of the given power-of-two capacity
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        cells = (List<Block>[]) new List[capacity];
+        occupied = 0;
+    }
+}
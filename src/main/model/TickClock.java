@@ -0,0 +1,107 @@
+package model;
+
+import java.util.concurrent.locks.LockSupport;
+
+// Class representing the pacing of a game loop at a fixed number of ticks per second: each tick
+// has a deadline one interval after the last, and each frame the loop runs every tick that is
+// due; when the loop falls behind, it runs up to maxFrameSkip extra ticks before drawing again,
+// so the game keeps its speed while frames are skipped, and a lag of more than CATCH_UP_SECONDS,
+// such as after the program was suspended, is dropped rather than played back all at once
+public class TickClock {
+    public static final int CATCH_UP_SECONDS = 1;
+    private static final long NANOS_PER_SECOND = 1000000000L;
+    private static final long SPIN_NANOS = 250000;
+    private final long tickNanos;
+    private final int maxFrameSkip;
+    private final long maxLag;
+    private long nextTick;
+    private long lag;
+    private long skippedFrames;
+    private long droppedTicks;
+
+    // REQUIRES: tickRate > 0, maxFrameSkip >= 0
+    // EFFECTS: constructs a clock of tickRate ticks per second that skips drawing at most
+    // maxFrameSkip frames in a row; the first tick is due as soon as the clock is started
+    public TickClock(int tickRate, int maxFrameSkip) {
+        this.tickNanos = NANOS_PER_SECOND / tickRate;
+        this.maxFrameSkip = maxFrameSkip;
+        this.maxLag = (long) tickRate * CATCH_UP_SECONDS;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: makes the first tick due at now, in the time of System.nanoTime
+    public void start(long now) {
+        this.nextTick = now;
+        this.lag = 0;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns how many ticks to run before drawing the next frame at now, at most
+    // maxFrameSkip + 1, and moves the deadline past them; counts every tick run past the first
+    // as a skipped frame; ticks still due after that are the lag, which is dropped if it
+    // exceeds CATCH_UP_SECONDS
+    public int ticksDue(long now) {
+        long behind = now - this.nextTick;
+        if (behind < 0) {
+            this.lag = 0;
+            return 0;
+        }
+        long due = behind / this.tickNanos + 1;
+        int ticks = (int) Math.min(due, this.maxFrameSkip + 1);
+        this.nextTick += ticks * this.tickNanos;
+        this.skippedFrames += ticks - 1;
+        this.lag = due - ticks;
+        if (this.lag > this.maxLag) {
+            this.nextTick += this.lag * this.tickNanos;
+            this.droppedTicks += this.lag;
+            this.lag = 0;
+        }
+        return ticks;
+    }
+
+    // EFFECTS: waits until the next tick is due, parking the thread until just before the
+    // deadline and spinning for the rest, since parking can oversleep by a millisecond or more
+    public void awaitNextTick() {
+        while (true) {
+            long remaining = this.nextTick - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            if (remaining > SPIN_NANOS) {
+                LockSupport.parkNanos(this, remaining - SPIN_NANOS);
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    // EFFECTS: returns the time, in the time of System.nanoTime, at which the next tick is due
+    public long getNextTick() {
+        return nextTick;
+    }
+
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    public int getMaxFrameSkip() {
+        return maxFrameSkip;
+    }
+
+    // EFFECTS: returns how many ticks the loop was still behind after the last call to ticksDue
+    public long getLag() {
+        return lag;
+    }
+
+    // EFFECTS: returns how many frames have not been drawn since the clock was constructed
+    // because the loop was catching up
+    public long getSkippedFrames() {
+        return skippedFrames;
+    }
+
+    // EFFECTS: returns how many ticks have been dropped since the clock was constructed
+    // because the loop was more than CATCH_UP_SECONDS behind
+    public long getDroppedTicks() {
+        return droppedTicks;
+    }
+}
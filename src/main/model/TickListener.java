@@ -0,0 +1,7 @@
+package model;
+
+// Represents an observer notified by a HeadlessEngine after the game has been ticked
+public interface TickListener {
+    // EFFECTS: reacts to game having just been ticked
+    void ticked(Game game);
+}
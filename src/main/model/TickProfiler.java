@@ -0,0 +1,189 @@
+package model;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Class representing a profiler of the phases of a game tick and of drawing a frame: each metric
+// keeps a histogram of its samples in power-of-two buckets, either nanoseconds spent in a phase
+// or a count per tick or frame; the profiler is enabled by starting the program with
+// -Drunner.profile=true, and since ENABLED is a constant, the guarded calls cost nothing otherwise;
+// the window's game and renderer record into the single instance shown to JMX, while a game only
+// records its ticks into a profiler it has been given, so games run side by side keep theirs apart
+public final class TickProfiler implements TickProfilerMBean {
+    public static final boolean ENABLED = Boolean.getBoolean("runner.profile");
+    public static final String OBJECT_NAME = "model:type=TickProfiler";
+    private static final int BUCKETS = 64;
+    private static final int COUNT = 0;
+    private static final int TOTAL = 1;
+    private static final int MAX = 2;
+    private static final int STATS = 3;
+    private static final Metric[] METRICS = Metric.values();
+    private static final TickProfiler INSTANCE = new TickProfiler();
+    private final AtomicLongArray bucketCounts;
+    private final AtomicLongArray statValues;
+
+    // Enumeration of the metrics of the profiler, with the unit of their samples
+    public enum Metric {
+        SCROLL("ns"),
+        PHYSICS("ns"),
+        COLLISIONS("ns"),
+        BOUNDARIES("ns"),
+        LOGGING("ns"),
+        TICK("ns"),
+        COLLISION_TESTS("per tick"),
+        DRAW_BLOCKS("ns"),
+        DRAW_CHARACTER("ns"),
+        DRAW_HUD("ns"),
+        FRAME("ns"),
+        BLOCKS_DRAWN("per frame"),
+        CHUNKS_DRAWN("per frame"),
+        BLOCKS_CULLED("per frame"),
+        SKIPPED_FRAMES("per frame"),
+        TICK_LAG("ticks");
+
+        private final String unit;
+
+        Metric(String unit) {
+            this.unit = unit;
+        }
+
+        public String getUnit() {
+            return unit;
+        }
+    }
+
+    private TickProfiler() {
+        this.bucketCounts = new AtomicLongArray(METRICS.length * BUCKETS);
+        this.statValues = new AtomicLongArray(METRICS.length * STATS);
+    }
+
+    // EFFECTS: returns the profiler of the game shown in the window, which is also the object
+    // registered with JMX
+    public static TickProfiler getInstance() {
+        return INSTANCE;
+    }
+
+    // EFFECTS: returns a new profiler with no samples, separate from the instance of the window
+    public static TickProfiler newDetachedProfiler() {
+        return new TickProfiler();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: records the time since start, from System.nanoTime, as a sample of metric;
+    // returns the current time, to start timing the next phase
+    public long lap(Metric metric, long start) {
+        long now = System.nanoTime();
+        record(metric, now - start);
+        return now;
+    }
+
+    // REQUIRES: value >= 0
+    // MODIFIES: this
+    // EFFECTS: adds value as a sample of metric
+    public void record(Metric metric, long value) {
+        int m = metric.ordinal();
+        int bucket = BUCKETS - Long.numberOfLeadingZeros(Math.max(value, 0));
+        bucketCounts.incrementAndGet(m * BUCKETS + Math.min(bucket, BUCKETS - 1));
+        statValues.incrementAndGet(m * STATS + COUNT);
+        statValues.addAndGet(m * STATS + TOTAL, value);
+        long max = statValues.get(m * STATS + MAX);
+        while (value > max && !statValues.compareAndSet(m * STATS + MAX, max, value)) {
+            max = statValues.get(m * STATS + MAX);
+        }
+    }
+
+    // EFFECTS: returns a line summarizing metric
+    public String summarize(Metric metric) {
+        return String.format("%-15s n=%-8d mean=%-10.0f p99<=%-10d max=%d %s", metric, count(metric),
+                mean(metric), percentile(metric, 99), max(metric), metric.getUnit());
+    }
+
+    // EFFECTS: returns the number of samples of metric
+    public long count(Metric metric) {
+        return statValues.get(metric.ordinal() * STATS + COUNT);
+    }
+
+    // EFFECTS: returns the mean sample of metric, 0 if there are none
+    public double mean(Metric metric) {
+        long count = count(metric);
+        return (count == 0) ? 0 : (double) statValues.get(metric.ordinal() * STATS + TOTAL) / count;
+    }
+
+    // EFFECTS: returns the largest sample of metric, 0 if there are none
+    public long max(Metric metric) {
+        return statValues.get(metric.ordinal() * STATS + MAX);
+    }
+
+    // REQUIRES: 0 < percentile <= 100
+    // EFFECTS: returns the upper bound of the bucket holding the given percentile of the samples
+    // of metric, 0 if there are none
+    public long percentile(Metric metric, double percentile) {
+        long count = count(metric);
+        long rank = (long) Math.ceil(count * percentile / 100);
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS && count > 0; bucket++) {
+            seen += bucketCounts.get(metric.ordinal() * BUCKETS + bucket);
+            if (seen >= rank) {
+                return (bucket == 0) ? 0 : (bucket >= BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) - 1);
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return ENABLED;
+    }
+
+    @Override
+    public String[] getSummary() {
+        String[] lines = new String[METRICS.length];
+        for (int i = 0; i < METRICS.length; i++) {
+            lines[i] = summarize(METRICS[i]);
+        }
+        return lines;
+    }
+
+    @Override
+    public long getCount(String metric) {
+        Metric m = find(metric);
+        return (m == null) ? -1 : count(m);
+    }
+
+    @Override
+    public double getMean(String metric) {
+        Metric m = find(metric);
+        return (m == null) ? -1 : mean(m);
+    }
+
+    @Override
+    public long getPercentile(String metric, double percentile) {
+        Metric m = find(metric);
+        return (m == null) ? -1 : percentile(m, percentile);
+    }
+
+    @Override
+    public long getMax(String metric) {
+        Metric m = find(metric);
+        return (m == null) ? -1 : max(m);
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < bucketCounts.length(); i++) {
+            bucketCounts.set(i, 0);
+        }
+        for (int i = 0; i < statValues.length(); i++) {
+            statValues.set(i, 0);
+        }
+    }
+
+    // EFFECTS: returns the metric with the given name, ignoring case, or null if there is none
+    private static Metric find(String name) {
+        for (Metric metric : METRICS) {
+            if (metric.name().equalsIgnoreCase(name)) {
+                return metric;
+            }
+        }
+        return null;
+    }
+}
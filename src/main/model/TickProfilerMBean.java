@@ -0,0 +1,28 @@
+package model;
+
+// Represents the management interface of the tick profiler, as seen by JMX clients
+public interface TickProfilerMBean {
+    // EFFECTS: returns true if the profiler was enabled when the program started
+    boolean isEnabled();
+
+    // EFFECTS: returns one line per metric with its count, mean, 99th percentile and maximum
+    String[] getSummary();
+
+    // EFFECTS: returns the number of samples of the named metric, or -1 if there is no such metric
+    long getCount(String metric);
+
+    // EFFECTS: returns the mean sample of the named metric, or -1 if there is no such metric
+    double getMean(String metric);
+
+    // REQUIRES: 0 < percentile <= 100
+    // EFFECTS: returns an upper bound of the given percentile of the samples of the named
+    // metric, or -1 if there is no such metric
+    long getPercentile(String metric, double percentile);
+
+    // EFFECTS: returns the largest sample of the named metric, or -1 if there is no such metric
+    long getMax(String metric);
+
+    // MODIFIES: this
+    // EFFECTS: forgets every sample
+    void reset();
+}
@@ -0,0 +1,174 @@
+package model;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Class representing the static tiles of a level as column-major grids of tile codes, one byte
+// per tile instead of one Block object per tile, split into chunks of a fixed number of columns;
+// a map is either built whole in memory, or streamed from a ChunkSource where only the chunks
+// made resident (e.g. by a ChunkStreamer) can be seen and the others read as empty space;
+// a TileMap is not modified by the games using it (collected power-ups are tracked by each
+// game), so it can be shared
+public class TileMap {
+    public static final byte EMPTY = 0;
+    public static final int DEFAULT_CHUNK_COLUMNS = 32;
+    private final int columns;
+    private final int rows;
+    private final int tileSize;
+    private final int chunkShift;
+    private final int chunkMask;
+    private final AtomicReferenceArray<byte[]> chunks;
+    private final ChunkSource source;
+
+    // REQUIRES: columns >= 0, rows >= 0, tileSize > 0
+    // EFFECTS: constructs an empty map of the given size in tiles, with square tiles
+    // of the given side length in pixels, with every chunk resident
+    public TileMap(int columns, int rows, int tileSize) {
+        this(columns, rows, tileSize, DEFAULT_CHUNK_COLUMNS, null);
+        for (int chunk = 0; chunk < getChunkCount(); chunk++) {
+            this.chunks.set(chunk, new byte[getChunkLength()]);
+        }
+    }
+
+    // REQUIRES: chunkColumns is a power of two
+    // EFFECTS: constructs a map with no resident chunks
+    private TileMap(int columns, int rows, int tileSize, int chunkColumns, ChunkSource source) {
+        this.columns = columns;
+        this.rows = rows;
+        this.tileSize = tileSize;
+        this.chunkShift = Integer.numberOfTrailingZeros(chunkColumns);
+        this.chunkMask = chunkColumns - 1;
+        this.chunks = new AtomicReferenceArray<>((columns + chunkColumns - 1) / chunkColumns);
+        this.source = source;
+    }
+
+    // REQUIRES: tileSize > 0
+    // EFFECTS: returns a map of the level in source, with square tiles of the given side length
+    // in pixels, where no chunk is resident yet
+    public static TileMap streamed(ChunkSource source, int tileSize) {
+        return new TileMap(source.getColumns(), source.getRows(), tileSize, source.getChunkColumns(), source);
+    }
+
+    // REQUIRES: 0 <= col < columns, 0 <= row < rows, the chunk holding col is resident
+    // MODIFIES: this
+    // EFFECTS: stores a tile of the given kind at (col, row), or empty space if kind is null
+    public void setTile(int col, int row, EntityKind kind) {
+        chunks.get(col >> chunkShift)[(col & chunkMask) * rows + row] = (kind == null) ? EMPTY : kind.getCode();
+    }
+
+    // EFFECTS: returns the code of the tile at (col, row), EMPTY if outside the map
+    // or in a chunk that is not resident
+    public byte getTile(int col, int row) {
+        if (col < 0 || col >= columns || row < 0 || row >= rows) {
+            return EMPTY;
+        }
+        byte[] chunk = chunks.get(col >> chunkShift);
+        if (chunk == null) {
+            return EMPTY;
+        }
+        return chunk[(col & chunkMask) * rows + row];
+    }
+
+    // EFFECTS: returns the index identifying the tile at (col, row) within this map
+    public int indexOf(int col, int row) {
+        return col * rows + row;
+    }
+
+    // EFFECTS: returns the column containing the given x coordinate (may be outside the map)
+    public int columnOf(int x) {
+        return Math.floorDiv(x, tileSize);
+    }
+
+    // EFFECTS: returns the row containing the given y coordinate (may be outside the map)
+    public int rowOf(int y) {
+        return Math.floorDiv(y, tileSize);
+    }
+
+    // EFFECTS: returns the number of non-empty tiles in the resident chunks of the map
+    public int count() {
+        int count = 0;
+        for (int chunk = 0; chunk < getChunkCount(); chunk++) {
+            byte[] tiles = chunks.get(chunk);
+            if (tiles == null) {
+                continue;
+            }
+            for (byte tile : tiles) {
+                if (tile != EMPTY) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    // EFFECTS: returns the chunk holding column col
+    public int chunkOf(int col) {
+        return col >> chunkShift;
+    }
+
+    // EFFECTS: returns true if the tiles of chunk are in memory
+    public boolean isResident(int chunk) {
+        return chunks.get(chunk) != null;
+    }
+
+    // REQUIRES: 0 <= chunk < getChunkCount(), tiles.length == getChunkLength(), and tiles is not
+    // changed afterwards, since readers may keep it after the chunk is evicted
+    // MODIFIES: this
+    // EFFECTS: makes tiles the resident tile codes of chunk, visible to every thread reading the map
+    public void setChunk(int chunk, byte[] tiles) {
+        chunks.set(chunk, tiles);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: drops the tiles of chunk from memory, its tiles read as empty space until it is
+    // made resident again; returns the dropped tile codes, or null if it was not resident
+    public byte[] evictChunk(int chunk) {
+        return chunks.getAndSet(chunk, null);
+    }
+
+    // REQUIRES: 0 <= chunk < getChunkCount(), buffer.length == getChunkLength()
+    // MODIFIES: buffer
+    // EFFECTS: returns the tile codes of chunk: the resident ones, which stay valid if the chunk is
+    // evicted meanwhile since resident arrays are never reused, or else the ones read from the
+    // map's source into buffer; throws IOException if the chunk is not resident and cannot be read
+    public byte[] readChunk(int chunk, byte[] buffer) throws IOException {
+        byte[] tiles = chunks.get(chunk);
+        if (tiles != null) {
+            return tiles;
+        }
+        if (source == null) {
+            throw new IOException("Chunk " + chunk + " is not resident and the map has no source");
+        }
+        source.readChunk(chunk, buffer);
+        return buffer;
+    }
+
+    // EFFECTS: returns the number of tiles in a chunk
+    public int getChunkLength() {
+        return (chunkMask + 1) * rows;
+    }
+
+    public int getChunkColumns() {
+        return chunkMask + 1;
+    }
+
+    public int getChunkCount() {
+        return chunks.length();
+    }
+
+    public ChunkSource getSource() {
+        return source;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+}
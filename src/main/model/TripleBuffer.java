@@ -0,0 +1,61 @@
+package model;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Class representing three values passed from one thread that fills them in to one thread that
+// reads them, without either thread ever waiting for the other: the producer fills the back
+// value and publishes it by swapping it with the middle one, the consumer takes the newest
+// published value by swapping the middle one with the front one it reads
+public class TripleBuffer<T> {
+    private static final int INDEX = 3;
+    private static final int FRESH = 4;
+    private final T[] values;
+    private final AtomicInteger middle;
+    private int back;
+    private int front;
+
+    // REQUIRES: first, second and third are distinct
+    // EFFECTS: constructs a buffer of the three values, with third read by the consumer
+    // until a value is published
+    @SuppressWarnings("unchecked")
+    public TripleBuffer(T first, T second, T third) {
+        this.values = (T[]) new Object[]{first, second, third};
+        this.back = 0;
+        this.middle = new AtomicInteger(1);
+        this.front = 2;
+    }
+
+    // REQUIRES: only called from the producing thread
+    // EFFECTS: returns the value for the producer to fill in, which the consumer does not see
+    // until it is published
+    public T getBack() {
+        return this.values[this.back];
+    }
+
+    // REQUIRES: only called from the producing thread
+    // MODIFIES: this
+    // EFFECTS: makes the back value the newest published value, replacing any published value
+    // the consumer has not taken, and gives the producer that value, or the one the consumer
+    // last read, as its new back value
+    public void publish() {
+        this.back = this.middle.getAndSet(this.back | FRESH) & INDEX;
+    }
+
+    // REQUIRES: only called from the consuming thread
+    // MODIFIES: this
+    // EFFECTS: returns the newest published value and makes it the front value,
+    // or null if nothing has been published since the last poll
+    public T poll() {
+        if ((this.middle.get() & FRESH) == 0) {
+            return null;
+        }
+        this.front = this.middle.getAndSet(this.front) & INDEX;
+        return this.values[this.front];
+    }
+
+    // REQUIRES: only called from the consuming thread
+    // EFFECTS: returns the value the consumer last took, which the producer does not change
+    public T getFront() {
+        return this.values[this.front];
+    }
+}
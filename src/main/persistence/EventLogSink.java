@@ -0,0 +1,246 @@
+package persistence;
+
+import model.Event;
+import model.EventLog;
+import model.OverflowPolicy;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.LockSupport;
+
+// Represents a sink that appends the events of an event log to a file, one line per event, on a
+// background thread so that the threads logging events never wait for the disk; events are written
+// in batches through one reused direct buffer, and once the file would grow past its size limit it
+// is rotated, keeping up to maxFiles older files as file.1 (newest) to file.maxFiles (oldest); the
+// thread sleeps while there is nothing to write, and is woken by threads waiting for free space
+public class EventLogSink implements Runnable, Closeable {
+    public static final int BUFFER_BYTES = 1 << 16;
+    private static final long IDLE_NANOS = 50000000;
+    private final EventLog log;
+    private final Path file;
+    private final long maxFileBytes;
+    private final int maxFiles;
+    private final OverflowPolicy overflow;
+    private final ByteBuffer buffer;
+    private final CharsetEncoder encoder;
+    private final StringBuilder line;
+    private FileChannel channel;
+    private long fileBytes;
+    private long cursor;
+    private volatile long dropped;
+    private volatile boolean running;
+    private volatile IOException failure;
+    private Thread thread;
+
+    // REQUIRES: maxFileBytes > 0, maxFiles >= 1
+    // EFFECTS: constructs a sink of log's events into file; with the DROP overflow policy events
+    // the sink falls too far behind on are overwritten and counted as dropped, with BLOCK
+    // the threads logging events wait for the sink instead
+    public EventLogSink(EventLog log, Path file, long maxFileBytes, int maxFiles, OverflowPolicy overflow) {
+        this.log = log;
+        this.file = file;
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = maxFiles;
+        this.overflow = overflow;
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        this.encoder = StandardCharsets.UTF_8.newEncoder();
+        this.line = new StringBuilder();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: opens the file for appending and starts draining the log on a daemon thread;
+    // throws IOException if the file cannot be opened
+    public void start() throws IOException {
+        open();
+        this.running = true;
+        this.thread = new Thread(this, "event-log-sink");
+        this.thread.setDaemon(true);
+        this.log.setConsumerThread(this.thread);
+        this.thread.start();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the events logged since the sink was started, in batches, until closed;
+    // then writes the remaining events and closes the file; a failure to write stops the sink
+    @Override
+    public void run() {
+        try {
+            while (this.running) {
+                if (drain(false) == 0) {
+                    LockSupport.parkNanos(this, IDLE_NANOS);
+                }
+            }
+            drain(true);
+        } catch (IOException e) {
+            this.failure = e;
+        } finally {
+            this.log.detachConsumer();
+            closeChannel();
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: stops the sink once every event logged so far is written and closes the file;
+    // throws IOException if writing the events failed
+    @Override
+    public void close() throws IOException {
+        this.running = false;
+        if (this.thread != null) {
+            LockSupport.unpark(this.thread);
+            try {
+                this.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        } else if (this.channel != null) {
+            try {
+                drain(true);
+            } finally {
+                this.log.detachConsumer();
+                closeChannel();
+            }
+        }
+        if (this.failure != null) {
+            throw this.failure;
+        }
+    }
+
+    // EFFECTS: returns the number of events that were overwritten or cleared before they were written
+    public long getDropped() {
+        return dropped;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: opens the file for appending and attaches the sink to the log as its consumer;
+    // throws IOException if the file cannot be opened
+    void open() throws IOException {
+        this.channel = FileChannel.open(this.file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        this.fileBytes = this.channel.size();
+        this.cursor = this.log.attachConsumer(this.overflow);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the events logged since the last drain and returns how many were written;
+    // stops at an event still being written, and unless all, at the newest event if it may still
+    // be repeated; throws IOException if the file cannot be written
+    int drain(boolean all) throws IOException {
+        long end = this.log.getLogged();
+        int written = 0;
+        while (this.cursor < end) {
+            long oldest = this.log.getOldest();
+            if (this.cursor < oldest) {
+                appendDropped(oldest - this.cursor);
+                this.cursor = oldest;
+                continue;
+            }
+            Event event = this.log.getEvent(this.cursor);
+            if (event == null) {
+                if (this.cursor < this.log.getOldest()) {
+                    continue;
+                }
+                break;
+            }
+            if (!all && this.cursor == end - 1 && this.log.isCoalescing(event.getType())) {
+                break;
+            }
+            append(event);
+            this.cursor++;
+            written++;
+        }
+        flush();
+        this.log.setConsumed(this.cursor);
+        return written;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: counts the given number of events as dropped and notes it in the file
+    private void appendDropped(long count) throws IOException {
+        this.dropped += count;
+        this.line.setLength(0);
+        this.line.append(count).append(" events dropped\n");
+        appendLine();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds the line for event to the batch, as its time, tick and description
+    private void append(Event event) throws IOException {
+        this.line.setLength(0);
+        this.line.append(event.getDate().toInstant()).append(" tick ").append(event.getTick()).append(' ');
+        String description = event.getDescription().trim();
+        for (int i = 0; i < description.length(); i++) {
+            char c = description.charAt(i);
+            this.line.append(c == '\n' ? ' ' : c);
+        }
+        this.line.append('\n');
+        appendLine();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: encodes line into the batch, writing out the batch whenever it is full; rotates
+    // the file first if the line would take it past its size limit
+    private void appendLine() throws IOException {
+        long pending = this.fileBytes + this.buffer.position();
+        if (pending > 0 && pending + this.line.length() > this.maxFileBytes) {
+            flush();
+            rotate();
+        }
+        CharBuffer chars = CharBuffer.wrap(this.line);
+        while (this.encoder.encode(chars, this.buffer, true) == CoderResult.OVERFLOW) {
+            flush();
+        }
+        this.encoder.reset();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the batch to the file and empties it
+    private void flush() throws IOException {
+        this.buffer.flip();
+        while (this.buffer.hasRemaining()) {
+            this.fileBytes += this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: shifts each older file up by one, dropping the oldest, moves the file to file.1
+    // and starts a new, empty file
+    private void rotate() throws IOException {
+        this.channel.close();
+        for (int i = this.maxFiles - 1; i >= 1; i--) {
+            Path older = rotated(i);
+            if (Files.exists(older)) {
+                Files.move(older, rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(this.file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+        this.channel = FileChannel.open(this.file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        this.fileBytes = 0;
+    }
+
+    // EFFECTS: returns the path of the rotated file with the given index
+    private Path rotated(int index) {
+        return this.file.resolveSibling(this.file.getFileName() + "." + index);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: closes the file, ignoring failures since there is nothing left to write
+    private void closeChannel() {
+        try {
+            this.channel.close();
+        } catch (IOException e) {
+            // the events were all written before the file was closed
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package persistence;
+
+import model.Command;
+import model.InputScript;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+// Represents a reader that reads a script of player commands from a text file, where each
+// line holds a game time in ticks and a command name, e.g. "120 JUMP"; blank lines and
+// lines starting with '#' are ignored
+public class InputScriptReader {
+    private final String source;
+
+    // EFFECTS: constructs reader to read from the source file
+    public InputScriptReader(String source) {
+        this.source = source;
+    }
+
+    // EFFECTS: reads the script from file and returns it;
+    // throws IOException if an error occurs reading data from file or a line is malformed
+    public InputScript read() throws IOException {
+        try (BufferedReader br = Files.newBufferedReader(Paths.get(source), StandardCharsets.UTF_8)) {
+            return read(br);
+        }
+    }
+
+    // EFFECTS: reads a script from the given character stream and returns it;
+    // throws IOException if an error occurs reading the stream or a line is malformed
+    public static InputScript read(Reader reader) throws IOException {
+        BufferedReader br = (reader instanceof BufferedReader) ? (BufferedReader) reader : new BufferedReader(reader);
+        InputScript script = new InputScript();
+        int lineNumber = 0;
+        String line;
+        while ((line = br.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split("\\s+");
+            try {
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException();
+                }
+                int tick = Integer.parseInt(parts[0]);
+                if (tick < 0) {
+                    throw new IllegalArgumentException();
+                }
+                script.add(tick, Command.valueOf(parts[1]));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Malformed command on line " + lineNumber + ": " + line);
+            }
+        }
+        return script;
+    }
+}
@@ -48,6 +48,8 @@ public class JsonReader {
         state.setCharacter(parseCharacter(jsonGame.getJSONObject("character")));
         restoreBlocks(state, jsonGame);
         restoreInventory(state, jsonGame);
+        // saves from before the camera was introduced hold screen coordinates, i.e. camera at the origin
+        state.setCamera(jsonGame.optInt("cameraX", 0), jsonGame.optInt("cameraY", 0));
         state.setTime(jsonGame.getInt("time"));
         state.setInvulnerabilityEnd(jsonGame.getInt("invulnerabilityEnd"));
         state.setSpeedEnd(jsonGame.getInt("speedEnd"));
@@ -75,12 +77,15 @@ public class JsonReader {
             JSONObject jsonBlock = (JSONObject) json;
             int x = jsonBlock.getInt("positionX");
             int y = jsonBlock.getInt("positionY");
-            if (jsonBlock.getString("name").equals("block")) {
+            String name = jsonBlock.getString("name");
+            EntityKind kind = EntityKind.fromName(name);
+            if (kind == EntityKind.BLOCK) {
                 state.addBlock(new Block(x, y));
-            } else if (jsonBlock.getString("name").equals("hazard")) {
+            } else if (kind == EntityKind.HAZARD) {
                 state.addBlock(new Hazard(x, y));
+            } else if (kind == EntityKind.FINISH) {
+                state.addBlock(new FinishLine(x, y));
             } else {
-                String name = jsonBlock.getString("name");
                 state.addBlock(new PowerUp(x, y, name));
             }
         }
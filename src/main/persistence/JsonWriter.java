@@ -26,7 +26,12 @@ public class JsonWriter {
     // MODIFIES: this
     // EFFECTS: writes JSON representation of the game state to destination file
     public void write(Game state) {
-        JSONObject json = state.toJson();
+        write(state.toJson());
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes json, a game state captured earlier, to destination file
+    public void write(JSONObject json) {
         saveToFile(json.toString(INDENT));
     }
 
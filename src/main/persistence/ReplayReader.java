@@ -0,0 +1,61 @@
+package persistence;
+
+import model.Command;
+import model.InputScript;
+import model.Replay;
+
+import java.io.*;
+
+// Represents a reader that reads a replay from a file written by ReplayWriter
+public class ReplayReader {
+    private static final int MAX_VARINT_BYTES = 5;
+    private static final Command[] COMMANDS = Command.values();
+    private final String source;
+
+    // EFFECTS: constructs reader to read from source file
+    public ReplayReader(String source) {
+        this.source = source;
+    }
+
+    // EFFECTS: reads replay from file and returns it;
+    // throws IOException if an error occurs reading data from file or it is not a valid replay
+    public Replay read() throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(source)))) {
+            if (in.readInt() != ReplayWriter.MAGIC) {
+                throw new IOException("Not a replay file: " + source);
+            }
+            int version = in.readUnsignedByte();
+            if (version != ReplayWriter.VERSION) {
+                throw new IOException("Unsupported replay version " + version + ": " + source);
+            }
+            String map = in.readUTF();
+            int length = readVarInt(in);
+            int count = readVarInt(in);
+            InputScript script = new InputScript();
+            int tick = 0;
+            for (int i = 0; i < count; i++) {
+                tick += readVarInt(in);
+                int command = in.readUnsignedByte();
+                if (command >= COMMANDS.length) {
+                    throw new IOException("Unknown command " + command + " in replay: " + source);
+                }
+                script.add(tick, COMMANDS[command]);
+            }
+            return new Replay(map, length, script);
+        }
+    }
+
+    // EFFECTS: reads a number written by ReplayWriter seven bits at a time;
+    // throws IOException if the number is longer than an int
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int i = 0; i < MAX_VARINT_BYTES; i++) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << (7 * i);
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed number in replay");
+    }
+}
@@ -0,0 +1,65 @@
+package persistence;
+
+import model.InputScript;
+import model.Replay;
+
+import java.io.*;
+
+// Represents a writer that writes a replay to file in a compact binary format: a header with
+// a magic number, a format version, the map and the length of the session, then the number of commands and each command
+// as the variable-length number of ticks since the previous command followed by one byte
+// for the command, so that a command costs two bytes unless commands are far apart
+public class ReplayWriter {
+    static final int MAGIC = 0x52504C59;
+    static final int VERSION = 1;
+    private final String destination;
+    private DataOutputStream writer;
+
+    // EFFECTS: constructs writer to write to destination file
+    public ReplayWriter(String destination) {
+        this.destination = destination;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: opens writer; throws FileNotFoundException if destination file cannot
+    // be opened for writing
+    public void open() throws FileNotFoundException {
+        writer = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(destination)));
+    }
+
+    // MODIFIES: this
+    // EFFECTS: writes the binary representation of replay to destination file;
+    // throws IOException if an error occurs writing to the file
+    public void write(Replay replay) throws IOException {
+        InputScript script = replay.getScript();
+        writer.writeInt(MAGIC);
+        writer.writeByte(VERSION);
+        writer.writeUTF(replay.getMap());
+        writeVarInt(replay.getLength());
+        writeVarInt(script.size());
+        int lastTick = 0;
+        for (int i = 0; i < script.size(); i++) {
+            writeVarInt(script.getTick(i) - lastTick);
+            writer.writeByte(script.getCommand(i).ordinal());
+            lastTick = script.getTick(i);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: closes writer; throws IOException if buffered data cannot be written
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    // REQUIRES: value >= 0
+    // MODIFIES: this
+    // EFFECTS: writes value seven bits at a time, lowest bits first, setting the high bit
+    // of every byte but the last
+    private void writeVarInt(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            writer.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        writer.writeByte(value);
+    }
+}
@@ -0,0 +1,91 @@
+package persistence;
+
+import model.ChunkSource;
+import model.TileMap;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// Represents a reader of the chunks of a tile file written by TileFileWriter; chunks are read
+// with positional reads, so they can be read from any thread without reading the whole file
+public class TileFileReader implements ChunkSource, Closeable {
+    private final FileChannel channel;
+    private final int columns;
+    private final int rows;
+    private final int chunkColumns;
+
+    // EFFECTS: opens the tile file source and reads its header; throws IOException if it cannot
+    // be read or is not a tile file
+    public TileFileReader(Path source) throws IOException {
+        this.channel = FileChannel.open(source, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(TileFileWriter.HEADER_BYTES);
+            readFully(header, 0);
+            header.flip();
+            if (header.getInt() != TileFileWriter.MAGIC || header.getInt() != TileFileWriter.VERSION) {
+                throw new IOException("Not a tile file: " + source);
+            }
+            this.columns = header.getInt();
+            this.rows = header.getInt();
+            this.chunkColumns = header.getInt();
+            if (columns < 0 || rows < 0 || Integer.bitCount(chunkColumns) != 1
+                    || channel.size() < TileFileWriter.HEADER_BYTES + (long) columns * rows) {
+                throw new IOException("Corrupt tile file: " + source);
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public int getColumns() {
+        return columns;
+    }
+
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public int getChunkColumns() {
+        return chunkColumns;
+    }
+
+    // REQUIRES: 0 <= chunk < number of chunks, tiles.length == getChunkColumns() * getRows()
+    // MODIFIES: tiles
+    // EFFECTS: reads the tile codes of chunk into tiles, column-major, with columns past the
+    // end of the level left EMPTY; throws IOException if the chunk cannot be read
+    @Override
+    public void readChunk(int chunk, byte[] tiles) throws IOException {
+        int firstCol = chunk * chunkColumns;
+        int length = Math.min(chunkColumns, columns - firstCol) * rows;
+        readFully(ByteBuffer.wrap(tiles, 0, length), TileFileWriter.HEADER_BYTES + (long) firstCol * rows);
+        Arrays.fill(tiles, length, tiles.length, TileMap.EMPTY);
+    }
+
+    // EFFECTS: closes the file
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // MODIFIES: into
+    // EFFECTS: fills the remaining space of into from the file starting at position
+    private void readFully(ByteBuffer into, long position) throws IOException {
+        while (into.hasRemaining()) {
+            int read = channel.read(into, position);
+            if (read < 0) {
+                throw new EOFException("Tile file ends early");
+            }
+            position += read;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package persistence;
+
+import model.EntityKind;
+import model.TileMap;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// Represents a writer that transcodes a csv map, where each line is a row of tile codes, into a
+// binary tile file: a header of five ints (magic number, version, columns, rows and columns per
+// chunk) followed by one byte per tile in column-major order, so that any chunk of columns is a
+// single contiguous read; the csv is streamed once to size the map and then once for each band of
+// columns that fits in a bounded buffer, which is filled and appended to the file in turn, so that
+// the file is written sequentially through a channel and never left mapped
+public class TileFileWriter {
+    static final int MAGIC = 0x54494C45;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 5 * Integer.BYTES;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int BAND_BYTES = 1 << 24;
+    private final Path destination;
+    private final int chunkColumns;
+    private final int bandBytes;
+
+    // REQUIRES: chunkColumns is a power of two, bandBytes > 0
+    // EFFECTS: constructs writer to write a tile file with the given columns per chunk to destination,
+    // filling bands of columns of at most bandBytes tiles, or of one column if that is larger
+    TileFileWriter(Path destination, int chunkColumns, int bandBytes) {
+        this.destination = destination;
+        this.chunkColumns = chunkColumns;
+        this.bandBytes = bandBytes;
+    }
+
+    // REQUIRES: chunkColumns is a power of two
+    // EFFECTS: constructs writer to write a tile file with the given columns per chunk to destination
+    public TileFileWriter(Path destination, int chunkColumns) {
+        this(destination, chunkColumns, BAND_BYTES);
+    }
+
+    // EFFECTS: constructs writer to write a tile file with the default columns per chunk to destination
+    public TileFileWriter(Path destination) {
+        this(destination, TileMap.DEFAULT_CHUNK_COLUMNS);
+    }
+
+    // REQUIRES: the map has fewer than 2^31 tiles
+    // EFFECTS: transcodes the csv map in source into the destination tile file, where values that
+    // are not the code of an EntityKind become empty space; throws IOException if an error occurs
+    // reading the csv or writing the tile file
+    public void write(Path source) throws IOException {
+        int[] size = new int[2];
+        scan(source, size, null, 0, 0);
+        int columns = size[0];
+        int rows = size[1];
+        try (FileChannel channel = FileChannel.open(destination, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC);
+            header.putInt(VERSION);
+            header.putInt(columns);
+            header.putInt(rows);
+            header.putInt(chunkColumns);
+            header.flip();
+            writeFully(channel, header);
+            int bandColumns = Math.max(1, Math.min(columns, bandBytes / Math.max(rows, 1)));
+            ByteBuffer band = ByteBuffer.allocate(bandColumns * rows);
+            for (int first = 0; first < columns; first += bandColumns) {
+                band.clear();
+                band.limit(Math.min(bandColumns, columns - first) * rows);
+                Arrays.fill(band.array(), 0, band.limit(), TileMap.EMPTY);
+                scan(source, new int[2], band, rows, first);
+                writeFully(channel, band);
+            }
+            channel.force(false);
+        }
+    }
+
+    // MODIFIES: channel
+    // EFFECTS: writes all the remaining bytes of buffer to channel
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    // MODIFIES: size, out
+    // EFFECTS: streams the csv in source and sets size to the number of columns of the widest row
+    // and the number of rows; if out is not null, also puts the code of each value in the columns
+    // of out's band, starting at column first, at its column-major position in out, for a map of
+    // the given number of rows
+    private void scan(Path source, int[] size, ByteBuffer out, int rows, int first) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int col = 0;
+        int row = 0;
+        int value = 0;
+        boolean digits = false;
+        boolean valid = true;
+        boolean lineStarted = false;
+        boolean afterCr = false;
+        try (InputStream in = Files.newInputStream(source)) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                for (int i = 0; i < read; i++) {
+                    byte b = buffer[i];
+                    if (b == '\n' && afterCr) {
+                        afterCr = false;
+                        continue;
+                    }
+                    afterCr = (b == '\r');
+                    if (b == ',' || b == '\n' || b == '\r') {
+                        put(out, rows, first, col, row, (digits && valid) ? value : 0);
+                        if (b == ',') {
+                            col++;
+                            lineStarted = true;
+                        } else {
+                            size[0] = Math.max(size[0], col + 1);
+                            col = 0;
+                            row++;
+                            lineStarted = false;
+                        }
+                        value = 0;
+                        digits = false;
+                        valid = true;
+                    } else {
+                        lineStarted = true;
+                        if (b >= '0' && b <= '9' && value < 1000) {
+                            value = value * 10 + (b - '0');
+                            digits = true;
+                        } else if (b != ' ' && b != '\t') {
+                            valid = false;
+                        }
+                    }
+                }
+            }
+        }
+        if (lineStarted) {
+            put(out, rows, first, col, row, (digits && valid) ? value : 0);
+            size[0] = Math.max(size[0], col + 1);
+            row++;
+        }
+        size[1] = row;
+    }
+
+    // MODIFIES: out
+    // EFFECTS: if out is not null and its band, starting at column first, holds col, puts the code
+    // of value at the column-major position of (col, row) in the band
+    private void put(ByteBuffer out, int rows, int first, int col, int row, int value) {
+        int index = (col - first) * rows + row;
+        if (out == null || col < first || index >= out.limit()) {
+            return;
+        }
+        EntityKind kind = EntityKind.fromCode(value);
+        out.put(index, (kind == null) ? TileMap.EMPTY : kind.getCode());
+    }
+}
@@ -0,0 +1,182 @@
+package ui;
+
+import model.EntityKind;
+import model.Inventory;
+import model.RenderSnapshot;
+import model.TileMap;
+
+import java.awt.*;
+import java.util.Arrays;
+
+// Class representing the part of a view that changed from one frame of a game to the next: while
+// the camera stays put, only the character, the blocks and power-ups that appear or disappear,
+// and the HUD when its time or items change need to be drawn again, so the union of their bounds
+// is all that has to be repainted; when the camera moves, or the level changes, it is the whole view
+public class DirtyRegion {
+    private final int width;
+    private final int height;
+    private final int tileSize;
+    private final int hudHeight;
+    private final EntityKind[] items;
+    private int[] spriteX;
+    private int[] spriteY;
+    private EntityKind[] spriteKinds;
+    private int sprites;
+    private boolean tracking;
+    private TileMap tileMap;
+    private int cameraX;
+    private int cameraY;
+    private boolean hasCharacter;
+    private int characterX;
+    private int characterY;
+    private int direction;
+    private boolean invulnerable;
+    private int seconds;
+    private int left;
+    private int top;
+    private int right;
+    private int bottom;
+
+    // EFFECTS: constructs a region of a view of width by height pixels showing tiles of tileSize
+    // pixels, with nothing known of the previous frame
+    public DirtyRegion(int width, int height, int tileSize) {
+        this.width = width;
+        this.height = height;
+        this.tileSize = tileSize;
+        this.hudHeight = HudLayer.heightFor(tileSize);
+        this.items = new EntityKind[Inventory.CAPACITY];
+        this.spriteX = new int[0];
+        this.spriteY = new int[0];
+        this.spriteKinds = new EntityKind[0];
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the bounds, in view coordinates, of what differs between frame and the frame
+    // passed before it, the whole view if the camera or level changed or there was no frame before,
+    // or null if nothing differs; remembers frame as the frame before the next one
+    public Rectangle update(RenderSnapshot frame) {
+        Rectangle dirty;
+        if (!this.tracking || frame.getTileMap() != this.tileMap || frame.getCameraX() != this.cameraX
+                || frame.getCameraY() != this.cameraY) {
+            dirty = new Rectangle(0, 0, this.width, this.height);
+        } else {
+            this.left = Integer.MAX_VALUE;
+            this.top = Integer.MAX_VALUE;
+            this.right = Integer.MIN_VALUE;
+            this.bottom = Integer.MIN_VALUE;
+            addCharacter(frame);
+            addSprites(frame);
+            addHud(frame);
+            dirty = clip();
+        }
+        remember(frame);
+        return dirty;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds the character's old and new bounds if it moved or its sprite may have changed
+    private void addCharacter(RenderSnapshot frame) {
+        boolean changed = frame.hasCharacter() != this.hasCharacter
+                || frame.getCharacterX() != this.characterX || frame.getCharacterY() != this.characterY
+                || frame.getDirection() != this.direction || frame.isInvulnerable() != this.invulnerable;
+        if (!changed) {
+            return;
+        }
+        if (this.hasCharacter) {
+            addTile(this.characterX, this.characterY);
+        }
+        if (frame.hasCharacter()) {
+            addTile(frame.getCharacterX(), frame.getCharacterY());
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds the bounds of the blocks and power-ups of frame and of the previous frame from
+    // the first one that differs between them onwards, since frames with the same camera list the
+    // blocks they share in the same order
+    private void addSprites(RenderSnapshot frame) {
+        int same = 0;
+        while (same < this.sprites && same < frame.getSprites()
+                && frame.getSpriteX(same) == this.spriteX[same] && frame.getSpriteY(same) == this.spriteY[same]
+                && frame.getSpriteKind(same) == this.spriteKinds[same]) {
+            same++;
+        }
+        for (int i = same; i < this.sprites; i++) {
+            addTile(this.spriteX[i], this.spriteY[i]);
+        }
+        for (int i = same; i < frame.getSprites(); i++) {
+            addTile(frame.getSpriteX(i), frame.getSpriteY(i));
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds the bounds of the HUD if the seconds or items it shows differ
+    private void addHud(RenderSnapshot frame) {
+        boolean changed = frame.getTime() / frame.getTickRate() != this.seconds;
+        for (int slot = 0; slot < this.items.length && !changed; slot++) {
+            changed = frame.getItem(slot) != this.items[slot];
+        }
+        if (changed) {
+            add(0, 0, this.width, this.hudHeight);
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: adds the bounds of a tile-sized sprite at (x, y) in world coordinates
+    private void addTile(int x, int y) {
+        add(x - this.cameraX, y - this.cameraY, this.tileSize, this.tileSize);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: grows the region to include the given rectangle in view coordinates
+    private void add(int x, int y, int w, int h) {
+        this.left = Math.min(this.left, x);
+        this.top = Math.min(this.top, y);
+        this.right = Math.max(this.right, x + w);
+        this.bottom = Math.max(this.bottom, y + h);
+    }
+
+    // EFFECTS: returns the region within the view, or null if it is empty
+    private Rectangle clip() {
+        if (this.left >= this.right || this.top >= this.bottom) {
+            return null;
+        }
+        int x = Math.max(this.left, 0);
+        int y = Math.max(this.top, 0);
+        int w = Math.min(this.right, this.width) - x;
+        int h = Math.min(this.bottom, this.height) - y;
+        if (w <= 0 || h <= 0) {
+            return null;
+        }
+        return new Rectangle(x, y, w, h);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: keeps what the next frame is compared against
+    private void remember(RenderSnapshot frame) {
+        this.tracking = true;
+        this.tileMap = frame.getTileMap();
+        this.cameraX = frame.getCameraX();
+        this.cameraY = frame.getCameraY();
+        this.hasCharacter = frame.hasCharacter();
+        this.characterX = frame.getCharacterX();
+        this.characterY = frame.getCharacterY();
+        this.direction = frame.getDirection();
+        this.invulnerable = frame.isInvulnerable();
+        this.seconds = frame.getTime() / frame.getTickRate();
+        for (int slot = 0; slot < this.items.length; slot++) {
+            this.items[slot] = frame.getItem(slot);
+        }
+        this.sprites = frame.getSprites();
+        if (this.spriteKinds.length < this.sprites) {
+            this.spriteX = Arrays.copyOf(this.spriteX, this.sprites);
+            this.spriteY = Arrays.copyOf(this.spriteY, this.sprites);
+            this.spriteKinds = Arrays.copyOf(this.spriteKinds, this.sprites);
+        }
+        for (int i = 0; i < this.sprites; i++) {
+            this.spriteX[i] = frame.getSpriteX(i);
+            this.spriteY[i] = frame.getSpriteY(i);
+            this.spriteKinds[i] = frame.getSpriteKind(i);
+        }
+    }
+}
@@ -5,50 +5,101 @@ import java.awt.*;
 
 import model.*;
 import persistence.JsonWriter;
+import persistence.ReplayWriter;
+import org.json.JSONObject;
 
 import java.awt.event.KeyEvent;
-import java.awt.image.BufferedImage;
-import java.io.FileNotFoundException;
-import java.util.List;
+import java.awt.image.BufferStrategy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
 
-// Represents the component of the GUI that will display all gameplay components
+// Represents the component of the GUI that will display all gameplay components; after each tick
+// the game thread captures a snapshot of the game and hands it to a render thread that draws it
+// onto a canvas through a page-flipping buffer strategy, unless the program is started with
+// -Drunner.passiveRendering=true, in which case Swing paints the latest snapshot when asked, and
+// only the part of the panel that changed since the last snapshot while the camera stays put
 public class GameGUI extends JPanel implements Runnable {
-    public static final int FPS = 60;
+    public static final boolean PASSIVE_RENDERING = Boolean.getBoolean("runner.passiveRendering");
+    public static final int FPS = Game.DEFAULT_TICK_RATE;
     private static final String JSON_STORE = "./data/save-state.json";
-    public static final int GRID_UNIT = 50;
+    private static final String REPLAY_STORE = "./data/last-replay.rpl";
+    private static final int HISTORY_SECONDS = 5;
+    private static final int SAVE_TIMEOUT_SECONDS = 5;
+    private static final TickProfiler PROFILER = TickProfiler.ENABLED ? TickProfiler.getInstance() : null;
+    private static final long MAP_MEMORY_BUDGET = 1 << 20;
+    private static final int RENDER_BUFFERS = 2;
+    private static final int MAX_FRAME_SKIP = Integer.getInteger("runner.maxFrameSkip", 5);
+    public static final int GRID_UNIT = Game.DEFAULT_TILE_SIZE;
     public static final int MAX_COL = 20;
     public static final int MAX_ROW = 14;
     private static final int WIDTH_PX = GRID_UNIT * MAX_COL;
     private static final int HEIGHT_PX = GRID_UNIT * MAX_ROW;
-    private static final String FONT_NAME = "Consolas";
-    private static final Font REGULAR_TEXT = new Font(FONT_NAME, Font.PLAIN, 14);
-    private final Sprites sprites;
+    private final GameRenderer renderer;
+    private final TripleBuffer<RenderSnapshot> frames;
+    private final Canvas canvas;
+    private final DirtyRegion dirtyRegion;
     private final MainWindow display;
-    private final int centerX;
-    private final int keyY;
     private final JsonWriter jsonWriter;
+    private final ExecutorService saver;
     private final MapLoader mapLoader;
-    private Game game;
+    private final String map;
+    private final SnapshotRing history;
+    private final TickClock clock;
+    private volatile boolean rewindRequested;
+    private volatile boolean saveRequested;
+    private volatile boolean overlayShown;
+    private volatile ChunkStreamer streamer;
+    private volatile Game game;
+    private volatile Game unloadedGame;
+    private volatile boolean running;
+    private boolean overlayPainted;
     private Thread gameThread;
+    private Thread renderThread;
 
     // EFFECTS: constructs a panel to represent the GUI for the game,
     // initializes writer for saving the game state, a new game, and key bindings;
-    // initializes a test map for the game and starts a separate thread for the game
+    // initializes a test map for the game and starts a separate thread for the game,
+    // and one for drawing it unless rendering is passive
     public GameGUI(MainWindow display, String map) {
         this.jsonWriter = new JsonWriter(JSON_STORE);
+        this.saver = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "game-saver");
+            thread.setDaemon(true);
+            return thread;
+        });
         this.mapLoader = new MapLoader(map);
+        this.map = map;
         this.setLayout(null);
         this.setPreferredSize(new Dimension(WIDTH_PX, HEIGHT_PX));
-        this.sprites  = Sprites.getInstance();
+        this.renderer = new GameRenderer(WIDTH_PX, HEIGHT_PX);
+        this.frames = new TripleBuffer<>(new RenderSnapshot(), new RenderSnapshot(), new RenderSnapshot());
+        this.dirtyRegion = new DirtyRegion(WIDTH_PX, HEIGHT_PX, GRID_UNIT);
+        if (PASSIVE_RENDERING) {
+            this.canvas = null;
+        } else {
+            this.canvas = new Canvas();
+            this.canvas.setBounds(0, 0, WIDTH_PX, HEIGHT_PX);
+            this.canvas.setBackground(Color.black);
+            this.canvas.setIgnoreRepaint(true);
+            this.canvas.setFocusable(false);
+            this.add(this.canvas);
+        }
+        this.history = new SnapshotRing(HISTORY_SECONDS * FPS);
+        this.clock = new TickClock(FPS, MAX_FRAME_SKIP);
         this.display = display;
-        this.centerX = WIDTH_PX / 2;
-        this.keyY = 10;
         this.setBackground(Color.black);
         setKeyBindings();
         this.setFocusable(true);
 
         this.game = new Game(WIDTH_PX, HEIGHT_PX);
-        initializeTestMap(this.game);
+        this.unloadedGame = this.game;
+        this.game.setRecording(new InputScript());
+        this.game.setProfiler(PROFILER);
         startGameThread();
     }
 
@@ -68,6 +119,8 @@ public class GameGUI extends JPanel implements Runnable {
         inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_2, 0), "VK_2");
         inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_3, 0), "VK_3");
         inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_S, 0), "VK_S");
+        inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_R, 0), "VK_R");
+        inputMap.put(KeyStroke.getKeyStroke(KeyEvent.VK_F3, 0), "VK_F3");
 
         actionMap.put("VK_LEFT", new KeyAction(this, "VK_LEFT"));
         actionMap.put("VK_RIGHT", new KeyAction(this,"VK_RIGHT"));
@@ -78,12 +131,21 @@ public class GameGUI extends JPanel implements Runnable {
         actionMap.put("VK_2", new KeyAction(this, "VK_2"));
         actionMap.put("VK_3", new KeyAction(this,"VK_3"));
         actionMap.put("VK_S", new KeyAction(this, "VK_S"));
+        actionMap.put("VK_R", new KeyAction(this, "VK_R"));
+        actionMap.put("VK_F3", new KeyAction(this, "VK_F3"));
     }
 
     // MODIFIES: this
-    // EFFECTS: creates a new Thread representing the game loop timeline
+    // EFFECTS: creates a new Thread representing the game loop timeline,
+    // and unless rendering is passive, a daemon thread drawing the frames it publishes
     public void startGameThread() {
+        this.running = true;
         this.gameThread = new Thread(this);
+        if (!PASSIVE_RENDERING) {
+            this.renderThread = new Thread(this::renderLoop, "render");
+            this.renderThread.setDaemon(true);
+            this.renderThread.start();
+        }
         this.gameThread.start();
     }
 
@@ -91,27 +153,41 @@ public class GameGUI extends JPanel implements Runnable {
     // REQUIRES: this.gameThread.isAlive()
     // MODIFIES: this
     // EFFECTS: runs the game in its own thread, progressing the game state
-    // 60 times per second and redrawing any changes through the graphics;
-    // if the game is ended display the end screen panel with the time
-    // taken to complete the game
+    // exactly FPS times per second of wall time, running the ticks that are due
+    // and then publishing a snapshot of the last one to be drawn, so that under load
+    // up to MAX_FRAME_SKIP frames in a row are skipped instead of slowing the game;
+    // if the game is ended save the replay of a recorded game and display the
+    // end screen panel with the time taken to complete the game; the level of a
+    // new game is loaded here first, off the event thread, and the first tick
+    // runs once the chunks seen from the camera are resident
     @Override
     public void run() {
-        double tickInterval = (double) 1000000000 / FPS;
-        double nextDrawTime = System.nanoTime() + tickInterval;
+        Game unloaded = this.unloadedGame;
+        this.unloadedGame = null;
+        if (unloaded != null) {
+            initializeTestMap(unloaded);
+        }
+        this.clock.start(System.nanoTime());
+        publishFrame();
         while (this.gameThread != null && !this.game.isEnded()) {
-            game.tick();
-            repaint();
-            try {
-                double remainingTime = (nextDrawTime - System.nanoTime()) / 1000000;
-                if (remainingTime < 0) {
-                    remainingTime = 0;
+            int ticks = this.clock.ticksDue(System.nanoTime());
+            for (int i = 0; i < ticks && !this.game.isEnded(); i++) {
+                step();
+            }
+            if (ticks > 0) {
+                publishFrame();
+                if (TickProfiler.ENABLED) {
+                    TickProfiler.getInstance().record(TickProfiler.Metric.SKIPPED_FRAMES, ticks - 1);
+                    TickProfiler.getInstance().record(TickProfiler.Metric.TICK_LAG, this.clock.getLag());
                 }
-                Thread.sleep((long) remainingTime);
-                nextDrawTime += tickInterval;
-            } catch (InterruptedException e) {
-                e.printStackTrace();
             }
+            this.clock.awaitNextTick();
         }
+        this.running = false;
+        LockSupport.unpark(this.renderThread);
+        saveReplay();
+        finishSaving();
+        closeStreamer();
         if (this.game.isSuccess()) {
             this.display.getEndScreen().getGgTime().setText("Level completed in " +
                     (this.game.getTime() / FPS) + " seconds.");
@@ -123,190 +199,242 @@ public class GameGUI extends JPanel implements Runnable {
     }
 
     // MODIFIES: this
-    // EFFECTS: sets the game character's base velocity to 5 pixels per tick
-    public void kickStart() {
-        this.game.getCharacter().setVelocityX(5);
+    // EFFECTS: handles rewind and save requests, then ticks the game once
+    // and keeps a snapshot of the tick for rewinding
+    private void step() {
+        followCamera();
+        if (this.rewindRequested) {
+            this.rewindRequested = false;
+            this.history.rewind(this.game, FPS);
+        }
+        if (this.saveRequested) {
+            this.saveRequested = false;
+            saveGame();
+        }
+        this.game.tick();
+        this.history.capture(this.game);
     }
 
-    // REQUIRES: dir is "left" or "right"
     // MODIFIES: this
-    // EFFECTS: changes direction of the velocity if not already in the same direction
-    // where < 0 is left and > 0 is right
-    public void negateMultiplier(String dir, int currentMultiplier) {
-        if (currentMultiplier > 0 && dir.equals("left")) {
-            this.game.getCharacter().setVelocityXMultiplier(currentMultiplier * -1);
-        } else if (currentMultiplier < 0 && dir.equals("right")) {
-            this.game.getCharacter().setVelocityXMultiplier(currentMultiplier * -1);
+    // EFFECTS: captures the game as it is after the last tick and hands it to be drawn, replacing
+    // the last snapshot if it has not been drawn yet; wakes the render thread, or with passive
+    // rendering asks Swing to repaint what changed since the last snapshot, all of it if
+    // the profiler overlay is or just was shown
+    private void publishFrame() {
+        RenderSnapshot frame = this.frames.getBack();
+        frame.capture(this.game, WIDTH_PX, HEIGHT_PX);
+        if (!PASSIVE_RENDERING) {
+            this.frames.publish();
+            LockSupport.unpark(this.renderThread);
+            return;
+        }
+        Rectangle dirty = this.dirtyRegion.update(frame);
+        this.frames.publish();
+        boolean overlay = this.overlayShown;
+        if (overlay || this.overlayPainted) {
+            repaint();
+        } else if (dirty != null) {
+            repaint(dirty);
         }
+        this.overlayPainted = overlay;
     }
 
-    // REQUIRES: key is "1", "2," or "3"
     // MODIFIES: this
-    // EFFECTS: if the key is not available to be assigned, a power-up can be
-    // located from the inventory with the assigned key and will be used
-    public void searchAndUse(String key) {
-        if (!this.game.getAvailableKeys().contains(key)) {
-            PowerUp toUse = null;
-            for (PowerUp pu : this.game.getInventory()) {
-                if (pu.getKeyAssignment().equals(key)) {
-                    toUse = pu;
-                    break;
-                }
+    // EFFECTS: while the game runs, draws each newly published snapshot onto the canvas
+    // and waits for the next one; snapshots published while one is drawn are skipped
+    // but for the newest
+    private void renderLoop() {
+        BufferStrategy strategy = null;
+        while (this.running) {
+            RenderSnapshot frame = this.canvas.isDisplayable() ? this.frames.poll() : null;
+            if (frame == null) {
+                LockSupport.park(this);
+                continue;
+            }
+            if (strategy == null) {
+                this.canvas.createBufferStrategy(RENDER_BUFFERS);
+                strategy = this.canvas.getBufferStrategy();
             }
-            if (toUse != null) {
-                this.game.usePowerUp(toUse);
+            try {
+                drawFrame(strategy, frame);
+            } catch (IllegalStateException e) {
+                // the canvas was hidden or removed while drawing, a new strategy is made once it is shown
+                strategy = null;
             }
         }
     }
 
     // MODIFIES: this
-    // EFFECTS: draws components of the game
+    // EFFECTS: draws frame, and the profiler overlay on top if shown, into the back buffer of
+    // strategy and flips it onto the screen, drawing again if the buffer's contents were lost
+    private void drawFrame(BufferStrategy strategy, RenderSnapshot frame) {
+        do {
+            do {
+                Graphics2D g2d = (Graphics2D) strategy.getDrawGraphics();
+                g2d.setColor(Color.black);
+                g2d.fillRect(0, 0, WIDTH_PX, HEIGHT_PX);
+                this.renderer.render(g2d, frame);
+                if (this.overlayShown) {
+                    this.renderer.renderOverlay(g2d);
+                }
+                g2d.dispose();
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: with passive rendering, draws the newest snapshot of the game within the clip of g,
+    // world entities are offset by the camera while the inventory and HUD stay fixed on screen,
+    // and the profiler overlay on top if shown; otherwise the canvas covers the panel and only
+    // the background is drawn
     @Override
     public void paintComponent(Graphics g) {
         super.paintComponent(g);
+        if (!PASSIVE_RENDERING) {
+            return;
+        }
         Graphics2D g2d = (Graphics2D) g;
-        drawBlocks(g2d);
-        drawCharacter(g2d);
-        drawInventory(g2d);
-        drawHUD(g2d);
+        RenderSnapshot frame = this.frames.poll();
+        this.renderer.render(g2d, frame != null ? frame : this.frames.getFront());
+        if (this.overlayShown) {
+            this.renderer.renderOverlay(g2d);
+        }
         g2d.dispose();
     }
 
-    // MODIFIES: this
-    // EFFECTS: displays the blocks in the game
-    private void drawBlocks(Graphics2D g2d) {
-        for (Block block : this.game.getBlocks()) {
-            drawBlock(block.getPositionX(), block.getPositionY(), block.getName(), g2d);
+    // modelled after JsonSerializationDemo provided by CPSC 210 at UBC
+    // EFFECTS: captures the game state and saves it to file on the saver thread, so that
+    // the game loop does not wait for the disk
+    public void saveGame() {
+        Supplier<JSONObject> state = this.game.captureJson();
+        this.saver.execute(() -> writeSave(state));
+    }
+
+    // EFFECTS: waits up to SAVE_TIMEOUT_SECONDS for the saves requested to be written,
+    // since they may still read the level's tiles from the map
+    private void finishSaving() {
+        this.saver.shutdown();
+        try {
+            this.saver.awaitTermination(SAVE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
-    // MODIFIES: this
-    // EFFECTS: displays a single block at pos using assigned sprites
-    private void drawBlock(int posX, int posY, String name, Graphics2D g2d) {
-        BufferedImage image = null;
-        switch (name) {
-            case Game.BLOCK:
-                image = sprites.getBlock();
-                g2d.drawImage(image, posX,
-                        posY,
-                        GRID_UNIT,
-                        GRID_UNIT, null);
-                return;
-            case Game.HAZARD:
-                image = sprites.getHazard();
-                break;
-            case Game.SPEED:
-                image = sprites.getSpeed();
-                break;
-            case Game.INVULNERABLE:
-                image = sprites.getInvulnerability();
-                break;
-            case Game.FINISH:
-                image = sprites.getFinish();
-                break;
+    // EFFECTS: writes the captured game state to file; a failure to save is reported
+    // but does not interrupt the game
+    private void writeSave(Supplier<JSONObject> state) {
+        try {
+            JSONObject json = state.get();
+            jsonWriter.open();
+            jsonWriter.write(json);
+            jsonWriter.close();
+        } catch (IOException | UncheckedIOException e) {
+            e.printStackTrace();
         }
-        g2d.drawImage(image, posX,
-                posY,
-                GRID_UNIT,
-                GRID_UNIT, null);
     }
 
     // MODIFIES: this
-    // EFFECTS: displays the player's character in the game with a sprite,
-    // varies if the character is facing left, right, or is invulnerable
-    private void drawCharacter(Graphics2D g2d) {
-        BufferedImage image;
-        boolean inv = game.getTime() < game.getInvulnerabilityEnd();
-        if (game.getCharacter().getVelocityXMultiplier() > 0) {
-            if (inv) {
-                image = sprites.getFwdInv();
-            } else {
-                image = sprites.getFwd();
-            }
-            sprites.setLastCharacter(image);
-        } else if (game.getCharacter().getVelocityXMultiplier() < 0) {
-            if (inv) {
-                image = sprites.getRevInv();
-            } else {
-                image = sprites.getRev();
-            }
-            sprites.setLastCharacter(image);
-        } else {
-            image = sprites.getLastCharacter();
+    // EFFECTS: if the level is streamed, moves the streamer's focus to the camera and waits
+    // until the tiles in and just around the view are resident
+    private void followCamera() {
+        ChunkStreamer current = this.streamer;
+        if (current == null) {
+            return;
+        }
+        int cameraX = this.game.getCameraX();
+        current.focus(cameraX);
+        try {
+            current.awaitResident(cameraX - GRID_UNIT, cameraX + WIDTH_PX + GRID_UNIT);
+        } catch (IOException e) {
+            e.printStackTrace();
+            closeStreamer();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
-        g2d.drawImage(image, game.getCharacter().getPositionX(),
-                game.getCharacter().getPositionY(),
-                GRID_UNIT,
-                GRID_UNIT, null);
     }
 
     // MODIFIES: this
-    // EFFECTS: displays the player's inventory of power-ups using sprites
-    private void drawInventory(Graphics2D g2d) {
-        List<PowerUp> inventory = this.game.getInventory();
-
-        g2d.setColor(Color.WHITE);
-        g2d.setFont(REGULAR_TEXT);
-        g2d.drawString("ITEMS:", centerX - 200, keyY + 25);
-        g2d.drawString("1:", centerX - 125, keyY + 25);
-        g2d.drawString("2:", centerX - 25, keyY + 25);
-        g2d.drawString("3:", centerX + 75, keyY + 25);
-
-        if (inventory.size() != 0) {
-            for (PowerUp pu : inventory) {
-                switch (pu.getKeyAssignment()) {
-                    case "1":
-                        drawBlock(centerX - 100, keyY, pu.getName(), g2d);
-                        break;
-                    case "2":
-                        drawBlock(centerX, keyY, pu.getName(), g2d);
-                        break;
-                    case "3":
-                        drawBlock(centerX + 100, keyY, pu.getName(), g2d);
-                        break;
-                }
-            }
+    // EFFECTS: stops streaming the level, if it is streamed
+    private void closeStreamer() {
+        ChunkStreamer current = this.streamer;
+        this.streamer = null;
+        if (current != null) {
+            current.close();
         }
     }
 
     // MODIFIES: this
-    // EFFECTS: displays the time since game start in seconds
-    private void drawHUD(Graphics2D g2d) {
-        g2d.setColor(Color.WHITE);
-        g2d.setFont(REGULAR_TEXT);
-        g2d.drawString("TIME:", 25, 25);
+    // EFFECTS: asks the game loop to rewind the game by one second before its next tick
+    public void requestRewind() {
+        this.rewindRequested = true;
+    }
 
-        g2d.setColor(Color.GREEN);
-        g2d.setFont(REGULAR_TEXT);
-        g2d.drawString(String.valueOf(this.game.getTime() / FPS), 100, 25);
+    // MODIFIES: this
+    // EFFECTS: asks the game loop to save the game state before its next tick
+    public void requestSave() {
+        this.saveRequested = true;
+    }
 
-        g2d.setColor(Color.PINK);
-        g2d.setFont(REGULAR_TEXT);
-        g2d.drawString("PRESS (S) TO SAVE PROGRESS", WIDTH_PX - 250, 25);
+    // MODIFIES: this
+    // EFFECTS: shows the profiler overlay if it is hidden, hides it otherwise
+    public void toggleOverlay() {
+        this.overlayShown = !this.overlayShown;
     }
 
-    // modelled after JsonSerializationDemo provided by CPSC 210 at UBC
-    // EFFECTS: saves the game state to file
-    public void saveGame() {
+    // EFFECTS: saves the commands recorded during the game, if it was recorded, as a replay;
+    // a failure to save is reported but does not interrupt the game
+    private void saveReplay() {
+        InputScript recording = this.game.getRecording();
+        if (recording == null) {
+            return;
+        }
+        ReplayWriter replayWriter = new ReplayWriter(REPLAY_STORE);
         try {
-            jsonWriter.open();
-            jsonWriter.write(this.game);
-            jsonWriter.close();
-        } catch (FileNotFoundException e) {
-            System.exit(1);
+            replayWriter.open();
+            replayWriter.write(new Replay(this.map, this.game.getTime(), recording));
+            replayWriter.close();
+        } catch (IOException e) {
+            e.printStackTrace();
         }
     }
 
+    // MODIFIES: this
+    // EFFECTS: replaces the game shown, stops streaming the level of the previous game
+    // and forgets its snapshots
     public void setGame(Game game) {
+        game.setProfiler(PROFILER);
+        this.unloadedGame = null;
         this.game = game;
+        this.history.clear();
+        closeStreamer();
     }
 
     public Game getGame() {
         return game;
     }
 
-    // temporary method for creating a test map for developers to test the UI
+    // EFFECTS: returns the clock pacing the game loop, which counts the frames skipped
+    // and the ticks the loop is behind
+    public TickClock getClock() {
+        return clock;
+    }
+
+    // temporary method for creating a test map for developers to test the UI;
+    // the map is streamed around the camera within MAP_MEMORY_BUDGET bytes of tiles,
+    // and no longer streamed if the game was replaced while it was loading
     private void initializeTestMap(Game testGame) {
-        this.mapLoader.loadMap(testGame);
+        try {
+            this.streamer = this.mapLoader.streamMap(testGame, WIDTH_PX, MAP_MEMORY_BUDGET);
+            if (this.game != testGame) {
+                closeStreamer();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 }
@@ -0,0 +1,142 @@
+package ui;
+
+import model.*;
+
+import java.awt.*;
+
+// Class representing the drawing of a game onto a view of a fixed size: the entities in the
+// world offset by the camera, then the inventory and HUD fixed on screen; a game is drawn
+// from a snapshot of one of its ticks, so it can be drawn on a thread other than the game's
+public class GameRenderer {
+    private static final Font OVERLAY_TEXT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+    private static final Color OVERLAY_BACKGROUND = new Color(0, 0, 0, 180);
+    private static final int OVERLAY_TOP = 80;
+    private static final int OVERLAY_LINE = 15;
+    private final SpriteAtlas atlas;
+    private final TickProfiler profiler;
+    private final StaticLayer staticLayer;
+    private final HudLayer hud;
+    private final int width;
+    private final int height;
+    private int blocksDrawn;
+    private SpriteAtlas.Sprite lastCharacter;
+    private RenderSnapshot snapshot;
+
+    // EFFECTS: constructs a renderer for a view of width by height pixels
+    public GameRenderer(int width, int height) {
+        this.atlas = SpriteAtlas.getInstance();
+        this.profiler = TickProfiler.getInstance();
+        this.staticLayer = new StaticLayer(this.atlas, width, height);
+        this.hud = new HudLayer(this.atlas, width);
+        this.width = width;
+        this.height = height;
+    }
+
+    // MODIFIES: this, g2d
+    // EFFECTS: draws components of the game as it is now, world entities are offset by the camera
+    // while the inventory and HUD stay fixed on screen; only called from the thread running game
+    public void render(Graphics2D g2d, Game game) {
+        if (this.snapshot == null) {
+            this.snapshot = new RenderSnapshot();
+        }
+        this.snapshot.capture(game, width, height);
+        render(g2d, this.snapshot);
+    }
+
+    // MODIFIES: this, g2d
+    // EFFECTS: draws the components of the game captured in frame, world entities are offset by
+    // the camera while the inventory and HUD stay fixed on screen
+    public void render(Graphics2D g2d, RenderSnapshot frame) {
+        long start = TickProfiler.ENABLED ? System.nanoTime() : 0;
+        long lap = start;
+        this.blocksDrawn = 0;
+        int cameraX = frame.getCameraX();
+        int cameraY = frame.getCameraY();
+        g2d.translate(-cameraX, -cameraY);
+        drawBlocks(g2d, frame);
+        if (TickProfiler.ENABLED) {
+            lap = this.profiler.lap(TickProfiler.Metric.DRAW_BLOCKS, lap);
+        }
+        drawCharacter(g2d, frame);
+        if (TickProfiler.ENABLED) {
+            lap = this.profiler.lap(TickProfiler.Metric.DRAW_CHARACTER, lap);
+        }
+        g2d.translate(cameraX, cameraY);
+        this.hud.draw(g2d, frame);
+        if (TickProfiler.ENABLED) {
+            this.profiler.lap(TickProfiler.Metric.DRAW_HUD, lap);
+            this.profiler.lap(TickProfiler.Metric.FRAME, start);
+            this.profiler.record(TickProfiler.Metric.BLOCKS_DRAWN, this.blocksDrawn);
+            this.profiler.record(TickProfiler.Metric.CHUNKS_DRAWN, this.staticLayer.getChunksDrawn());
+            this.profiler.record(TickProfiler.Metric.BLOCKS_CULLED, frame.getCulled());
+        }
+    }
+
+    // MODIFIES: g2d
+    // EFFECTS: draws the profiler's summary over the view, or how to enable it if it is disabled
+    public void renderOverlay(Graphics2D g2d) {
+        g2d.setFont(OVERLAY_TEXT);
+        if (!TickProfiler.ENABLED) {
+            g2d.setColor(Color.YELLOW);
+            g2d.drawString("profiler disabled, run with -Drunner.profile=true", 25, OVERLAY_TOP);
+            return;
+        }
+        String[] lines = this.profiler.getSummary();
+        g2d.setColor(OVERLAY_BACKGROUND);
+        g2d.fillRect(20, OVERLAY_TOP - OVERLAY_LINE, width - 40, OVERLAY_LINE * (lines.length + 1));
+        g2d.setColor(Color.GREEN);
+        for (int i = 0; i < lines.length; i++) {
+            g2d.drawString(lines[i], 25, OVERLAY_TOP + i * OVERLAY_LINE);
+        }
+    }
+
+    // MODIFIES: g2d
+    // EFFECTS: displays the tiles of the tile map within the camera's view, then the blocks and
+    // power-ups captured in frame; static tiles are drawn from the pre-rendered layer
+    private void drawBlocks(Graphics2D g2d, RenderSnapshot frame) {
+        TileMap tileMap = frame.getTileMap();
+        if (tileMap != null) {
+            this.staticLayer.draw(g2d, tileMap, frame.getCameraX(), frame.getCameraY(), width, height);
+        }
+        for (int i = 0; i < frame.getSprites(); i++) {
+            drawBlock(frame.getSpriteX(i), frame.getSpriteY(i), frame.getSpriteKind(i), g2d);
+        }
+    }
+
+    // MODIFIES: g2d
+    // EFFECTS: displays a single block of the given kind at pos using assigned sprites
+    private void drawBlock(int posX, int posY, EntityKind kind, Graphics2D g2d) {
+        SpriteAtlas.Sprite sprite = SpriteAtlas.forKind(kind);
+        if (sprite == null) {
+            return;
+        }
+        this.atlas.draw(g2d, sprite, posX, posY);
+        this.blocksDrawn++;
+    }
+
+    // MODIFIES: g2d
+    // EFFECTS: displays the player's character in the game with a sprite,
+    // varies if the character is facing left, right, or is invulnerable
+    private void drawCharacter(Graphics2D g2d, RenderSnapshot frame) {
+        if (!frame.hasCharacter()) {
+            return;
+        }
+        boolean inv = frame.isInvulnerable();
+        if (frame.getDirection() > 0) {
+            if (inv) {
+                this.lastCharacter = SpriteAtlas.Sprite.FWD_INV;
+            } else {
+                this.lastCharacter = SpriteAtlas.Sprite.FWD;
+            }
+        } else if (frame.getDirection() < 0) {
+            if (inv) {
+                this.lastCharacter = SpriteAtlas.Sprite.REV_INV;
+            } else {
+                this.lastCharacter = SpriteAtlas.Sprite.REV;
+            }
+        }
+        if (this.lastCharacter != null) {
+            this.atlas.draw(g2d, this.lastCharacter, frame.getCharacterX(), frame.getCharacterY());
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package ui;
+
+import model.Game;
+import model.HeadlessEngine;
+import model.InputScript;
+import persistence.InputScriptReader;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+
+// Runs the platformer game without a display, driven by a script of commands, and reports
+// how the run ended and how many ticks per second were simulated;
+// usage: HeadlessMain <map .csv> <script file, or - for standard input> [max ticks]
+public class HeadlessMain {
+    private static final long DEFAULT_MAX_TICKS = 1000000;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: HeadlessMain <map .csv> <script file | -> [max ticks]");
+            System.exit(2);
+        }
+        InputScript script = args[1].equals("-")
+                ? InputScriptReader.read(new InputStreamReader(System.in))
+                : new InputScriptReader(args[1]).read();
+        long maxTicks = (args.length > 2) ? Long.parseLong(args[2]) : DEFAULT_MAX_TICKS;
+
+        Game game = new Game(GameGUI.GRID_UNIT * GameGUI.MAX_COL, GameGUI.GRID_UNIT * GameGUI.MAX_ROW);
+        new MapLoader(args[0]).loadMap(game);
+        HeadlessEngine engine = new HeadlessEngine(game, script);
+        engine.run(maxTicks);
+
+        String outcome = !game.isEnded() ? "running" : (game.isSuccess() ? "completed" : "failed");
+        System.out.println("Level " + outcome + " after " + game.getTime() + " ticks");
+        System.out.printf("%d ticks at %.0f ticks/s%n", engine.getTicksRun(), engine.getTicksPerSecond());
+    }
+}
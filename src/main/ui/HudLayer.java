@@ -0,0 +1,116 @@
+package ui;
+
+import model.EntityKind;
+import model.Inventory;
+import model.RenderSnapshot;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+// Class representing the HUD fixed at the top of the view: the time in whole seconds, the slots
+// of the inventory with the power-ups held, and the save hint; it is rendered into an image that
+// is drawn whole each frame and only rendered again when the seconds shown or the items held change
+public class HudLayer {
+    private static final String FONT_NAME = "Consolas";
+    private static final Font REGULAR_TEXT = new Font(FONT_NAME, Font.PLAIN, 14);
+    private static final int KEY_Y = 10;
+    private final SpriteAtlas atlas;
+    private final int width;
+    private final int centerX;
+    private final BufferedImage image;
+    private final EntityKind[] items;
+    private int seconds;
+    private int rebuilds;
+
+    // EFFECTS: constructs the HUD of a view width pixels wide, drawing items with the sprites of atlas
+    public HudLayer(SpriteAtlas atlas, int width) {
+        this.atlas = atlas;
+        this.width = width;
+        this.centerX = width / 2;
+        this.image = Sprites.createCompatibleImage(width, heightFor(atlas.getTileSize()));
+        this.items = new EntityKind[Inventory.CAPACITY];
+        this.seconds = -1;
+    }
+
+    // MODIFIES: this, g2d
+    // EFFECTS: draws the HUD for frame at the top-left corner of g2d, rendering it again first
+    // if the seconds or items of frame differ from those it was last rendered with
+    public void draw(Graphics2D g2d, RenderSnapshot frame) {
+        if (isStale(frame)) {
+            render(frame);
+        }
+        g2d.drawImage(this.image, 0, 0, null);
+    }
+
+    // EFFECTS: returns the height in pixels of the HUD of a view with tiles of tileSize pixels
+    public static int heightFor(int tileSize) {
+        return KEY_Y + tileSize;
+    }
+
+    // EFFECTS: returns the number of times the HUD has been rendered
+    public int getRebuilds() {
+        return rebuilds;
+    }
+
+    // EFFECTS: returns true if the HUD shows other seconds or items than frame's
+    private boolean isStale(RenderSnapshot frame) {
+        if (frame.getTime() / frame.getTickRate() != this.seconds) {
+            return true;
+        }
+        for (int slot = 0; slot < this.items.length; slot++) {
+            if (frame.getItem(slot) != this.items[slot]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: clears the image and draws the HUD for frame onto it, remembering its seconds and items
+    private void render(RenderSnapshot frame) {
+        this.seconds = frame.getTime() / frame.getTickRate();
+        for (int slot = 0; slot < this.items.length; slot++) {
+            this.items[slot] = frame.getItem(slot);
+        }
+        Graphics2D g2d = this.image.createGraphics();
+        g2d.setComposite(AlphaComposite.Clear);
+        g2d.fillRect(0, 0, this.image.getWidth(), this.image.getHeight());
+        g2d.setComposite(AlphaComposite.SrcOver);
+        drawInventory(g2d);
+        drawTime(g2d);
+        g2d.dispose();
+        this.rebuilds++;
+    }
+
+    // MODIFIES: g2d
+    // EFFECTS: displays the player's inventory of power-ups using sprites
+    private void drawInventory(Graphics2D g2d) {
+        g2d.setColor(Color.WHITE);
+        g2d.setFont(REGULAR_TEXT);
+        g2d.drawString("ITEMS:", centerX - 200, KEY_Y + 25);
+        g2d.drawString("1:", centerX - 125, KEY_Y + 25);
+        g2d.drawString("2:", centerX - 25, KEY_Y + 25);
+        g2d.drawString("3:", centerX + 75, KEY_Y + 25);
+
+        for (int slot = 0; slot < this.items.length; slot++) {
+            SpriteAtlas.Sprite sprite = SpriteAtlas.forKind(this.items[slot]);
+            if (sprite != null) {
+                this.atlas.draw(g2d, sprite, centerX - 100 + slot * 100, KEY_Y);
+            }
+        }
+    }
+
+    // MODIFIES: g2d
+    // EFFECTS: displays the time since game start in seconds
+    private void drawTime(Graphics2D g2d) {
+        g2d.setColor(Color.WHITE);
+        g2d.setFont(REGULAR_TEXT);
+        g2d.drawString("TIME:", 25, 25);
+
+        g2d.setColor(Color.GREEN);
+        g2d.drawString(String.valueOf(this.seconds), 100, 25);
+
+        g2d.setColor(Color.PINK);
+        g2d.drawString("PRESS (S) TO SAVE PROGRESS", width - 250, 25);
+    }
+}
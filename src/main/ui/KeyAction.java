@@ -1,5 +1,8 @@
 package ui;
 
+import model.Command;
+import model.Game;
+
 import javax.swing.AbstractAction;
 import java.awt.event.ActionEvent;
 
@@ -8,7 +11,7 @@ public class KeyAction extends AbstractAction {
     private final GameGUI gameGUI;
 
     // REQUIRES: actionCommand is one of "VK_LEFT", "VK_RIGHT", "VK_SPACE",
-    // "VK_1", "VK_2", "VK_3", "VK_S", "VK_LEFT_release", or "VK_RIGHT_release"
+    // "VK_1", "VK_2", "VK_3", "VK_S", "VK_R", "VK_F3", "VK_LEFT_release", or "VK_RIGHT_release"
     // EFFECTS: creates a new key action affecting the game panel
     // with the given action command value
     public KeyAction(GameGUI gameGUI, String actionCommand) {
@@ -17,34 +20,37 @@ public class KeyAction extends AbstractAction {
     }
 
     // MODIFIES: this
-    // EFFECTS: moves the character left or right based on arrow key pressed,
+    // EFFECTS: queues the command for the key for the game thread to apply at its next tick:
+    // moves the character left or right based on arrow key pressed,
     // stops the character on release of the key;
     // makes the character jump if space is pressed and the character is currently on a platform;
-    // a power-up may be used if '1', '2', or '3' is pressed
+    // a power-up may be used if '1', '2', or '3' is pressed;
+    // the game is saved if 'S' is pressed and rewound by a second if 'R' is pressed;
+    // the profiler overlay is shown or hidden if F3 is pressed
     @Override
     public void actionPerformed(ActionEvent e) {
-        int currentMultiplier = gameGUI.getGame().getCharacter().getVelocityXMultiplier();
+        Game game = gameGUI.getGame();
         String actionCommand = e.getActionCommand();
         if (actionCommand.equals("VK_LEFT")) {
-            gameGUI.kickStart();
-            gameGUI.negateMultiplier("left", currentMultiplier);
+            game.queueCommand(Command.LEFT);
         } else if (actionCommand.equals("VK_RIGHT")) {
-            gameGUI.kickStart();
-            gameGUI.negateMultiplier("right", currentMultiplier);
+            game.queueCommand(Command.RIGHT);
         } else if (actionCommand.equals("VK_SPACE")) {
-            if (gameGUI.getGame().onPlatform()) {
-                gameGUI.getGame().getCharacter().setVelocityY(-21);
-            }
+            game.queueCommand(Command.JUMP);
         } else if (actionCommand.equals("VK_1")) {
-            gameGUI.searchAndUse("1");
+            game.queueCommand(Command.USE_1);
         } else if (actionCommand.equals("VK_2")) {
-            gameGUI.searchAndUse("2");
+            game.queueCommand(Command.USE_2);
         } else if (actionCommand.equals("VK_3")) {
-            gameGUI.searchAndUse("3");
+            game.queueCommand(Command.USE_3);
         } else if (actionCommand.equals("VK_S")) {
-            gameGUI.saveGame();
+            gameGUI.requestSave();
+        } else if (actionCommand.equals("VK_R")) {
+            gameGUI.requestRewind();
+        } else if (actionCommand.equals("VK_F3")) {
+            gameGUI.toggleOverlay();
         } else if (actionCommand.equals("VK_LEFT_release") ^ actionCommand.equals("VK_RIGHT_release")) {
-            gameGUI.getGame().getCharacter().setVelocityX(0);
+            game.queueCommand(Command.RELEASE);
         }
     }
 }
@@ -1,8 +1,29 @@
 package ui;
 
+import model.TickProfiler;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
 // Runs the platformer game with Swing GUI
 public class MainGUI {
     public static void main(String[] args) {
+        if (TickProfiler.ENABLED) {
+            registerProfiler();
+        }
+        Sprites.preload();
         MainWindow window = new MainWindow();
     }
+
+    // EFFECTS: exposes the tick profiler to JMX clients such as JConsole;
+    // a failure to register is reported but does not stop the game
+    private static void registerProfiler() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(TickProfiler.getInstance(),
+                    new ObjectName(TickProfiler.OBJECT_NAME));
+        } catch (JMException e) {
+            System.err.println("Could not register profiler: " + e.getMessage());
+        }
+    }
 }
@@ -2,26 +2,36 @@ package ui;
 
 import model.Event;
 import model.EventLog;
+import model.OverflowPolicy;
+import persistence.EventLogSink;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.WindowEvent;
 import java.awt.event.WindowListener;
+import java.io.IOException;
+import java.nio.file.Paths;
 
 // Represents the window of the GUI that will display application components
 public class MainWindow extends JFrame implements WindowListener {
+    private static final String EVENT_LOG_STORE = "./data/events.log";
+    private static final long EVENT_LOG_FILE_BYTES = 1 << 20;
+    private static final int EVENT_LOG_FILES = 3;
     private GameGUI game;
     private final EndScreenGUI endScreen;
     private final CardLayout layout;
     private final JFrame mainWindow;
     private final JPanel mainPanel;
+    private final EventLogSink eventLogSink;
     private String map = "/maps/testmap.csv";
 
     // EFFECTS: constructs a new window to hold the panel components of
     // the game application; initializes the window to have a card-layout
-    // with menu and end screen panels; shows the menu panel first
+    // with menu and end screen panels; shows the menu panel first;
+    // starts appending the event log to a file
     public MainWindow() {
         super();
+        eventLogSink = startEventLogSink();
         mainWindow = new JFrame();
         mainWindow.setResizable(false);
         mainWindow.setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
@@ -78,6 +88,20 @@ public class MainWindow extends JFrame implements WindowListener {
         this.map = map;
     }
 
+    // EFFECTS: starts appending the event log to the event log file and returns the sink,
+    // or null if the file cannot be opened, in which case events are only printed on exit
+    private static EventLogSink startEventLogSink() {
+        EventLogSink sink = new EventLogSink(EventLog.getInstance(), Paths.get(EVENT_LOG_STORE),
+                EVENT_LOG_FILE_BYTES, EVENT_LOG_FILES, OverflowPolicy.DROP);
+        try {
+            sink.start();
+            return sink;
+        } catch (IOException e) {
+            System.err.println("Could not open event log file: " + e.getMessage());
+            return null;
+        }
+    }
+
     @Override
     public void windowOpened(WindowEvent e) {
     }
@@ -87,6 +111,13 @@ public class MainWindow extends JFrame implements WindowListener {
         for (Event next : EventLog.getInstance()) {
             System.out.println(next.getDescription());
         }
+        if (eventLogSink != null) {
+            try {
+                eventLogSink.close();
+            } catch (IOException ex) {
+                System.err.println("Could not write event log file: " + ex.getMessage());
+            }
+        }
         this.dispose();
         System.exit(0);
     }
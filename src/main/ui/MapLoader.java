@@ -1,59 +1,196 @@
 package ui;
 
 import model.*;
+import persistence.TileFileReader;
+import persistence.TileFileWriter;
 
-import java.io.BufferedReader;
-import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+// Loads a level from a csv map file into a game; the csv is first transcoded into a binary tile
+// file that holds the map column-major, so that the level can either be read whole or streamed in
+// chunks of columns; loading reads files, so it is done off the Swing event thread.
+// Tile files are cached in the java-runner-tiles directory of the temporary directory, one per
+// csv, and reused while the csv is unchanged; transcoding a changed csv deletes the tile files
+// of its earlier versions, and the directory can be deleted at any time to clear the cache
 public class MapLoader {
+    private static final String RESOURCE_MAP = "/maps/testmap.csv";
+    private static final String TILE_FILE_SUFFIX = ".tiles";
+    static final Path CACHE_DIR = Paths.get(System.getProperty("java.io.tmpdir"), "java-runner-tiles");
+    private static final Map<String, Path> RESOURCE_TILE_FILES = new ConcurrentHashMap<>();
     private String map;
 
     public MapLoader(String map) {
         this.map = map;
     }
 
+    // MODIFIES: game
+    // EFFECTS: reads the whole map into a tile map and sets it as the game's level,
+    // where each value of the csv file is the code of an EntityKind (0 for empty space)
     public void loadMap(Game game) {
         try {
-            System.out.println(map);
-            InputStream is;
-            if (map.equals("/maps/testmap.csv")) {
-                is = getClass().getResourceAsStream(map);
+            try (TileFileReader reader = new TileFileReader(tileFile())) {
+                TileMap tileMap = TileMap.streamed(reader, game.getTileSize());
+                for (int chunk = 0; chunk < tileMap.getChunkCount(); chunk++) {
+                    byte[] tiles = new byte[tileMap.getChunkLength()];
+                    reader.readChunk(chunk, tiles);
+                    tileMap.setChunk(chunk, tiles);
+                }
+                game.setTileMap(tileMap);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    // REQUIRES: viewWidth > 0, maxBytes > 0
+    // MODIFIES: game
+    // EFFECTS: sets the map as the game's level, streamed in chunks on a background thread that
+    // keeps the chunks around the camera resident within maxBytes of tiles; waits until the
+    // chunks seen from the game's camera, viewWidth pixels wide, are resident and returns the
+    // started streamer, which the caller refocuses as the camera moves and closes when done;
+    // throws IOException if the map cannot be read, InterruptedException if interrupted, in
+    // which case the streamer is stopped and the tile file closed
+    public ChunkStreamer streamMap(Game game, int viewWidth, long maxBytes)
+            throws IOException, InterruptedException {
+        TileFileReader reader = new TileFileReader(tileFile());
+        ChunkStreamer streamer = null;
+        try {
+            TileMap tileMap = TileMap.streamed(reader, game.getTileSize());
+            int viewChunks = (viewWidth / game.getTileSize()) / tileMap.getChunkColumns() + 2;
+            streamer = new ChunkStreamer(tileMap, viewChunks, maxBytes);
+            streamer.focus(game.getCameraX());
+            streamer.start();
+            streamer.awaitResident(game.getCameraX(), game.getCameraX() + viewWidth - 1);
+            game.setTileMap(tileMap);
+            return streamer;
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            if (streamer != null && streamer.isStarted()) {
+                streamer.close();
             } else {
-                is = new FileInputStream(map);
+                try {
+                    reader.close();
+                } catch (IOException closing) {
+                    e.addSuppressed(closing);
+                }
+            }
+            throw e;
+        }
+    }
+
+    // EFFECTS: returns the tile file of the map in the cache, transcoding the csv if there is no
+    // up-to-date one; a bundled map is keyed by a hash of its contents, so it is transcoded once
+    // and then found in the cache, and only looked up once per run; a map file is keyed by its
+    // size and modification time; throws IOException if the csv cannot be read or the tile file
+    // cannot be written
+    Path tileFile() throws IOException {
+        if (map.equals(RESOURCE_MAP)) {
+            Path tiles = RESOURCE_TILE_FILES.get(map);
+            if (tiles == null || !Files.exists(tiles)) {
+                tiles = resourceTileFile();
+                RESOURCE_TILE_FILES.put(map, tiles);
+            }
+            return tiles;
+        }
+        Path csv = Paths.get(map);
+        String prefix = cachePrefix(csv.getFileName().toString(), csv.toAbsolutePath().toString());
+        Path tiles = CACHE_DIR.resolve(prefix + Files.size(csv) + "-"
+                + Files.getLastModifiedTime(csv).toMillis() + TILE_FILE_SUFFIX);
+        if (!Files.exists(tiles)) {
+            transcode(csv, tiles, prefix);
+        }
+        return tiles;
+    }
+
+    // EFFECTS: returns the tile file of the bundled map, named after the hash of its contents,
+    // transcoding it through a temporary copy of the csv if that file does not exist yet;
+    // throws IOException if the map cannot be read or the tile file cannot be written
+    private Path resourceTileFile() throws IOException {
+        byte[] contents;
+        try (InputStream is = getClass().getResourceAsStream(map)) {
+            if (is == null) {
+                throw new IOException("Missing map resource: " + map);
             }
-            BufferedReader br = new BufferedReader(new InputStreamReader(is));
-
-            for (int row = 0; row < GameGUI.MAX_ROW * 2; row++) {
-                String line = br.readLine();
-                String[] labels = line.split(",");
-                for (int col = 0; col < labels.length; col++) {
-                    switch (labels[col]) {
-                        case "1":
-                            game.addBlock(new Block(col * GameGUI.GRID_UNIT, row * GameGUI.GRID_UNIT));
-                            break;
-                        case "2":
-                            game.addBlock(new Hazard(col * GameGUI.GRID_UNIT, row * GameGUI.GRID_UNIT));
-                            break;
-                        case "3":
-                            game.addBlock(new PowerUp(col * GameGUI.GRID_UNIT,
-                                    row * GameGUI.GRID_UNIT,
-                                    Game.SPEED));
-                            break;
-                        case "4":
-                            game.addBlock(new PowerUp(col * GameGUI.GRID_UNIT,
-                                    row * GameGUI.GRID_UNIT,
-                                    Game.INVULNERABLE));
-                            break;
-                        case "5":
-                            game.addBlock(new FinishLine(col * GameGUI.GRID_UNIT, row * GameGUI.GRID_UNIT));
-                            break;
+            contents = is.readAllBytes();
+        }
+        String prefix = cachePrefix(Paths.get(map).getFileName().toString(), map);
+        Path tiles = CACHE_DIR.resolve(prefix + hash(contents) + TILE_FILE_SUFFIX);
+        if (!Files.exists(tiles)) {
+            Files.createDirectories(CACHE_DIR);
+            Path csv = Files.createTempFile(CACHE_DIR, "partial-", ".csv");
+            try {
+                Files.write(csv, contents);
+                transcode(csv, tiles, prefix);
+            } finally {
+                Files.deleteIfExists(csv);
+            }
+        }
+        return tiles;
+    }
+
+    // EFFECTS: returns the start of the names of the tile files of the csv called name at source,
+    // which its tile files share whatever version of the csv they hold
+    private static String cachePrefix(String name, String source) {
+        return name + "-" + Integer.toHexString(source.hashCode()) + "-";
+    }
+
+    // MODIFIES: the cache
+    // EFFECTS: writes the tile file of csv to a temporary file and then moves it to tiles, so that
+    // a tile file that exists is always complete, then deletes the other tile files whose names
+    // start with prefix, which hold earlier versions of the same csv; throws IOException if the
+    // tile file cannot be written
+    private static void transcode(Path csv, Path tiles, String prefix) throws IOException {
+        Files.createDirectories(CACHE_DIR);
+        Path partial = Files.createTempFile(CACHE_DIR, "partial-", ".partial");
+        try {
+            new TileFileWriter(partial).write(csv);
+            Files.move(partial, tiles, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+        deleteStale(tiles, prefix);
+    }
+
+    // MODIFIES: the cache
+    // EFFECTS: deletes the tile files other than tiles whose names start with prefix; a file that
+    // cannot be deleted, e.g. because another game still has it open, is left for a later transcode
+    private static void deleteStale(Path tiles, String prefix) {
+        try (DirectoryStream<Path> cached = Files.newDirectoryStream(CACHE_DIR)) {
+            for (Path stale : cached) {
+                String name = stale.getFileName().toString();
+                if (name.startsWith(prefix) && name.endsWith(TILE_FILE_SUFFIX) && !stale.equals(tiles)) {
+                    try {
+                        Files.deleteIfExists(stale);
+                    } catch (IOException e) {
+                        // still in use, left for a later transcode
                     }
                 }
             }
-        } catch (Exception e) {
-            e.printStackTrace();
+        } catch (IOException e) {
+            // the cache cannot be listed, so stale files are left for a later transcode
+        }
+    }
+
+    // EFFECTS: returns the SHA-256 hash of contents in hexadecimal
+    private static String hash(byte[] contents) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(contents);
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
         }
     }
 }
@@ -0,0 +1,44 @@
+package ui;
+
+import model.Game;
+import model.HeadlessEngine;
+import model.Replay;
+import persistence.ReplayReader;
+
+import javax.swing.*;
+import java.io.IOException;
+
+// Re-simulates a recorded session on its map as fast as the CPU allows and reports how it
+// ended; if a frame interval is given, every Nth tick is also shown in a window;
+// usage: ReplayMain <replay file> [render every N ticks]
+public class ReplayMain {
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("usage: ReplayMain <replay file> [render every N ticks]");
+            System.exit(2);
+        }
+        Replay replay = new ReplayReader(args[0]).read();
+        int width = GameGUI.GRID_UNIT * GameGUI.MAX_COL;
+        int height = GameGUI.GRID_UNIT * GameGUI.MAX_ROW;
+        Game game = new Game(width, height);
+        new MapLoader(replay.getMap()).loadMap(game);
+        HeadlessEngine engine = new HeadlessEngine(game, replay.getScript());
+
+        if (args.length > 1) {
+            ReplayViewer viewer = new ReplayViewer(width, height);
+            engine.setTickListener(viewer, Integer.parseInt(args[1]));
+            JFrame frame = new JFrame("Java Runner Replay");
+            frame.setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
+            frame.setResizable(false);
+            frame.add(viewer);
+            frame.pack();
+            frame.setLocationRelativeTo(null);
+            frame.setVisible(true);
+        }
+        engine.run(replay.getLength());
+
+        String outcome = !game.isEnded() ? "running" : (game.isSuccess() ? "completed" : "failed");
+        System.out.println("Replay " + outcome + " after " + game.getTime() + " ticks");
+        System.out.printf("%d ticks at %.0f ticks/s%n", engine.getTicksRun(), engine.getTicksPerSecond());
+    }
+}
@@ -0,0 +1,53 @@
+package ui;
+
+import model.Game;
+import model.TickListener;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+// Represents a panel showing the frames of a replay: each frame is drawn off screen by the
+// thread running the replay as soon as it is ticked, then handed to the panel to display,
+// so the replay never waits on Swing and frames Swing has not caught up with are dropped
+public class ReplayViewer extends JPanel implements TickListener {
+    private final GameRenderer renderer;
+    private BufferedImage back;
+    private BufferedImage front;
+
+    // EFFECTS: constructs a panel showing frames of width by height pixels
+    public ReplayViewer(int width, int height) {
+        this.renderer = new GameRenderer(width, height);
+        this.back = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        this.front = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        this.setPreferredSize(new Dimension(width, height));
+        this.setBackground(Color.black);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: draws game into the back frame, then swaps it with the displayed frame
+    @Override
+    public void ticked(Game game) {
+        Graphics2D g2d = this.back.createGraphics();
+        g2d.setColor(Color.black);
+        g2d.fillRect(0, 0, this.back.getWidth(), this.back.getHeight());
+        this.renderer.render(g2d, game);
+        g2d.dispose();
+        synchronized (this) {
+            BufferedImage shown = this.front;
+            this.front = this.back;
+            this.back = shown;
+        }
+        repaint();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: displays the latest complete frame
+    @Override
+    public void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        synchronized (this) {
+            g.drawImage(this.front, 0, 0, null);
+        }
+    }
+}
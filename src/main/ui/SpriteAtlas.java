@@ -0,0 +1,99 @@
+package ui;
+
+import model.EntityKind;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+// Class representing every sprite of the game scaled once to the size of a tile and packed side by side
+// into a single image in the screen's format, so that drawing a sprite is an unscaled copy of a
+// region of that image, which Java2D can accelerate, instead of a scaled draw of a decoded png
+public class SpriteAtlas {
+    private static SpriteAtlas atlas;
+    private final BufferedImage image;
+    private final int tileSize;
+
+    // Enumeration of the sprites in the atlas, in the order they are packed
+    public enum Sprite {
+        BLOCK,
+        HAZARD,
+        SPEED,
+        INVULNERABLE,
+        FINISH,
+        FWD,
+        REV,
+        FWD_INV,
+        REV_INV
+    }
+
+    // REQUIRES: tileSize > 0
+    // EFFECTS: constructs an atlas of the given sprites scaled to tileSize x tileSize pixels
+    public SpriteAtlas(Sprites sprites, int tileSize) {
+        this.tileSize = tileSize;
+        Sprite[] all = Sprite.values();
+        this.image = Sprites.createCompatibleImage(all.length * tileSize, tileSize);
+        Graphics2D g2d = this.image.createGraphics();
+        for (Sprite sprite : all) {
+            g2d.drawImage(source(sprites, sprite), sprite.ordinal() * tileSize, 0, tileSize, tileSize, null);
+        }
+        g2d.dispose();
+    }
+
+    // EFFECTS: returns the atlas of the game's sprites at the size of the game's tiles,
+    // building it on first use
+    public static synchronized SpriteAtlas getInstance() {
+        if (atlas == null) {
+            atlas = new SpriteAtlas(Sprites.getInstance(), GameGUI.GRID_UNIT);
+        }
+        return atlas;
+    }
+
+    // EFFECTS: returns the sprite of blocks of the given kind, or null if kind is not a kind of block
+    public static Sprite forKind(EntityKind kind) {
+        if (kind == null) {
+            return null;
+        }
+        switch (kind) {
+            case BLOCK:
+                return Sprite.BLOCK;
+            case HAZARD:
+                return Sprite.HAZARD;
+            case SPEED:
+                return Sprite.SPEED;
+            case INVULNERABLE:
+                return Sprite.INVULNERABLE;
+            case FINISH:
+                return Sprite.FINISH;
+            default:
+                return null;
+        }
+    }
+
+    // MODIFIES: g2d
+    // EFFECTS: draws sprite with its top-left corner at (x, y), unscaled
+    public void draw(Graphics2D g2d, Sprite sprite, int x, int y) {
+        int sourceX = sprite.ordinal() * this.tileSize;
+        g2d.drawImage(this.image, x, y, x + this.tileSize, y + this.tileSize,
+                sourceX, 0, sourceX + this.tileSize, this.tileSize, null);
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    // EFFECTS: returns the decoded image of sprite
+    private static BufferedImage source(Sprites sprites, Sprite sprite) {
+        switch (sprite) {
+            case FWD:
+                return sprites.getFwd();
+            case REV:
+                return sprites.getRev();
+            case FWD_INV:
+                return sprites.getFwdInv();
+            case REV_INV:
+                return sprites.getRevInv();
+            default:
+                return sprites.getImage(EntityKind.valueOf(sprite.name()));
+        }
+    }
+}
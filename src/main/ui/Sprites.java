@@ -1,50 +1,117 @@
 package ui;
 
+import model.EntityKind;
+
 import javax.imageio.ImageIO;
+import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 // Acts to store the png sprite representations of game components
-// to be displayed in the game panel
+// to be displayed in the game panel; the sprites are decoded once per process, in parallel
+// on background threads, and the images handed out are shared and must not be drawn into
 public class Sprites {
-    private static Sprites sprites;
-    private static BufferedImage block;
-    private static BufferedImage fwd;
-    private static BufferedImage rev;
-    private static BufferedImage fwdInv;
-    private static BufferedImage revInv;
-    private static BufferedImage hazard;
-    private static BufferedImage invulnerability;
-    private static BufferedImage speed;
-    private static BufferedImage finish;
-    private BufferedImage lastCharacter;
-
+    private static final String[] FILES = {"block", "character_fwd", "character_rev", "character_fwd_inv",
+        "character_rev_inv", "hazard", "invulnerability", "speed", "finish"};
+    private static CompletableFuture<Sprites> sprites;
+    private final BufferedImage block;
+    private final BufferedImage fwd;
+    private final BufferedImage rev;
+    private final BufferedImage fwdInv;
+    private final BufferedImage revInv;
+    private final BufferedImage hazard;
+    private final BufferedImage invulnerability;
+    private final BufferedImage speed;
+    private final BufferedImage finish;
+
+    // REQUIRES: images holds the decoded sprites in the order of FILES
     // EFFECTS: private constructor to prevent external construction
-    private Sprites() {
+    private Sprites(BufferedImage[] images) {
+        this.block = images[0];
+        this.fwd = images[1];
+        this.rev = images[2];
+        this.fwdInv = images[3];
+        this.revInv = images[4];
+        this.hazard = images[5];
+        this.invulnerability = images[6];
+        this.speed = images[7];
+        this.finish = images[8];
+    }
 
+    // EFFECTS: starts decoding the sprites from file sources, each on a thread of its own up to
+    // the number of processors, unless they are already loaded or being loaded; returns at once
+    public static synchronized void preload() {
+        if (sprites != null) {
+            return;
+        }
+        int threads = Math.min(FILES.length, Runtime.getRuntime().availableProcessors());
+        ExecutorService loader = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "sprite-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<CompletableFuture<BufferedImage>> images = new ArrayList<>();
+        for (String file : FILES) {
+            images.add(CompletableFuture.supplyAsync(() -> read(file), loader));
+        }
+        sprites = CompletableFuture.allOf(images.toArray(new CompletableFuture<?>[0]))
+                .thenApply(done -> new Sprites(images.stream().map(CompletableFuture::join)
+                        .toArray(BufferedImage[]::new)));
+        sprites.whenComplete((loaded, failure) -> loader.shutdown());
     }
 
-    // EFFECTS: instantiates an instance of this class if not already present and
-    // loads in sprites from file sources to store in fields;
-    // returns the sole instance of this class
+    // EFFECTS: returns the sole instance of this class, starting to load the sprites
+    // if that has not been done and waiting for them to finish loading
     public static Sprites getInstance() {
-        if (sprites == null) {
-            sprites = new Sprites();
-        }
+        preload();
+        return sprites.join();
+    }
+
+    // EFFECTS: returns the decoded sprite from the png of the given name, or null,
+    // with the failure printed, if it cannot be read
+    private static BufferedImage read(String file) {
         try {
-            block = ImageIO.read(Sprites.class.getResourceAsStream("/sprites/block.png"));
-            fwd = ImageIO.read(Sprites.class.getResourceAsStream("/sprites/character_fwd.png"));
-            rev = ImageIO.read(Sprites.class.getResourceAsStream("/sprites/character_rev.png"));
-            fwdInv = ImageIO.read(Sprites.class.getResourceAsStream("/sprites/character_fwd_inv.png"));
-            revInv = ImageIO.read(Sprites.class.getResourceAsStream("/sprites/character_rev_inv.png"));
-            hazard = ImageIO.read(Sprites.class.getResourceAsStream("/sprites/hazard.png"));
-            invulnerability = ImageIO.read(Sprites.class.getResourceAsStream("/sprites/invulnerability.png"));
-            speed = ImageIO.read(Sprites.class.getResourceAsStream("/sprites/speed.png"));
-            finish = ImageIO.read(Sprites.class.getResourceAsStream("/sprites/finish.png"));
+            return ImageIO.read(Sprites.class.getResourceAsStream("/sprites/" + file + ".png"));
         } catch (IOException e) {
             e.printStackTrace();
+            return null;
         }
-        return sprites;
+    }
+
+    // EFFECTS: returns the sprite of blocks of the given kind, or null if kind is not a kind of block
+    public BufferedImage getImage(EntityKind kind) {
+        if (kind == null) {
+            return null;
+        }
+        switch (kind) {
+            case BLOCK:
+                return block;
+            case HAZARD:
+                return hazard;
+            case SPEED:
+                return speed;
+            case INVULNERABLE:
+                return invulnerability;
+            case FINISH:
+                return finish;
+            default:
+                return null;
+        }
+    }
+
+    // EFFECTS: returns a new, transparent image of width x height pixels in the format of the
+    // screen, so that drawing it needs no conversion; a plain ARGB image if there is no screen
+    public static BufferedImage createCompatibleImage(int width, int height) {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        }
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                .getDefaultConfiguration().createCompatibleImage(width, height, Transparency.TRANSLUCENT);
     }
 
     public BufferedImage getBlock() {
@@ -75,10 +142,6 @@ public class Sprites {
         return finish;
     }
 
-    public BufferedImage getLastCharacter() {
-        return lastCharacter;
-    }
-
     public BufferedImage getFwdInv() {
         return fwdInv;
     }
@@ -86,8 +149,4 @@ public class Sprites {
     public BufferedImage getRevInv() {
         return revInv;
     }
-
-    public void setLastCharacter(BufferedImage lastCharacter) {
-        this.lastCharacter = lastCharacter;
-    }
 }
@@ -0,0 +1,135 @@
+package ui;
+
+import model.EntityKind;
+import model.TileMap;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Class representing the static part of a level: the solid tiles, hazards and finish line of its tile
+// map, pre-rendered into images of CHUNK_TILES x CHUNK_TILES tiles that are drawn whole; a chunk is
+// rendered when it first comes into view, and the layer keeps as many chunks as a view can overlap
+// plus one column of them, so that the column just scrolled past is kept; past that, the least
+// recently drawn chunk is dropped
+public class StaticLayer {
+    public static final int CHUNK_TILES = 16;
+    private final SpriteAtlas atlas;
+    private final int maxChunks;
+    private final Map<Long, BufferedImage> chunks;
+    private TileMap tileMap;
+    private int chunksDrawn;
+
+    // REQUIRES: width > 0, height > 0
+    // EFFECTS: constructs an empty layer for a view of width by height pixels, drawing tiles
+    // with the sprites of atlas
+    public StaticLayer(SpriteAtlas atlas, int width, int height) {
+        this.atlas = atlas;
+        int chunkSize = CHUNK_TILES * atlas.getTileSize();
+        this.maxChunks = (chunksOverlapped(width, chunkSize) + 1) * chunksOverlapped(height, chunkSize);
+        this.chunks = new LinkedHashMap<Long, BufferedImage>(this.maxChunks * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, BufferedImage> eldest) {
+                return size() > maxChunks;
+            }
+        };
+    }
+
+    // EFFECTS: returns the most chunks of chunkSize pixels that a span of length pixels can overlap
+    private static int chunksOverlapped(int length, int chunkSize) {
+        return (length + chunkSize - 2) / chunkSize + 1;
+    }
+
+    // EFFECTS: returns true if tiles of the given kind never change during a game, and so are
+    // drawn as part of the layer rather than one by one
+    public static boolean isStatic(EntityKind kind) {
+        return kind == EntityKind.BLOCK || kind == EntityKind.HAZARD || kind == EntityKind.FINISH;
+    }
+
+    // REQUIRES: the tiles of tileMap are the size of the atlas's sprites
+    // MODIFIES: this, g2d
+    // EFFECTS: draws the static tiles of tileMap within the view of width x height pixels whose
+    // top-left corner is at (viewX, viewY) in world coordinates, g2d being translated so that
+    // world coordinates are drawn in place; the cache is emptied first if tileMap is a new map
+    public void draw(Graphics2D g2d, TileMap tileMap, int viewX, int viewY, int width, int height) {
+        if (tileMap != this.tileMap) {
+            this.chunks.clear();
+            this.tileMap = tileMap;
+        }
+        this.chunksDrawn = 0;
+        int chunkSize = CHUNK_TILES * tileMap.getTileSize();
+        int firstX = Math.max(Math.floorDiv(viewX, chunkSize), 0);
+        int firstY = Math.max(Math.floorDiv(viewY, chunkSize), 0);
+        int lastX = Math.min(Math.floorDiv(viewX + width - 1, chunkSize), (tileMap.getColumns() - 1) / CHUNK_TILES);
+        int lastY = Math.min(Math.floorDiv(viewY + height - 1, chunkSize), (tileMap.getRows() - 1) / CHUNK_TILES);
+        for (int chunkX = firstX; chunkX <= lastX; chunkX++) {
+            for (int chunkY = firstY; chunkY <= lastY; chunkY++) {
+                g2d.drawImage(chunk(chunkX, chunkY), chunkX * chunkSize, chunkY * chunkSize, null);
+                this.chunksDrawn++;
+            }
+        }
+    }
+
+    // EFFECTS: returns the number of chunk images drawn by the last call to draw
+    public int getChunksDrawn() {
+        return chunksDrawn;
+    }
+
+    // EFFECTS: returns the number of chunk images currently cached
+    public int getCachedChunks() {
+        return chunks.size();
+    }
+
+    // EFFECTS: returns the number of chunk images cached at most
+    public int getMaxChunks() {
+        return maxChunks;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: returns the image of the chunk, rendering it if it is not cached; a chunk whose
+    // tiles are not all loaded yet is rendered as it is now but not cached
+    private BufferedImage chunk(int chunkX, int chunkY) {
+        long key = ((long) chunkX << 32) | chunkY;
+        BufferedImage image = this.chunks.get(key);
+        if (image == null) {
+            image = render(chunkX, chunkY);
+            if (isResident(chunkX)) {
+                this.chunks.put(key, image);
+            }
+        }
+        return image;
+    }
+
+    // EFFECTS: returns true if every column of the chunks in column chunkX is loaded
+    private boolean isResident(int chunkX) {
+        int firstCol = chunkX * CHUNK_TILES;
+        int lastCol = Math.min(firstCol + CHUNK_TILES, this.tileMap.getColumns()) - 1;
+        for (int chunk = this.tileMap.chunkOf(firstCol); chunk <= this.tileMap.chunkOf(lastCol); chunk++) {
+            if (!this.tileMap.isResident(chunk)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // EFFECTS: returns a new image with the static tiles of the chunk drawn on a transparent background
+    private BufferedImage render(int chunkX, int chunkY) {
+        int size = this.tileMap.getTileSize();
+        BufferedImage image = Sprites.createCompatibleImage(CHUNK_TILES * size, CHUNK_TILES * size);
+        Graphics2D g2d = image.createGraphics();
+        int lastCol = Math.min((chunkX + 1) * CHUNK_TILES, this.tileMap.getColumns());
+        int lastRow = Math.min((chunkY + 1) * CHUNK_TILES, this.tileMap.getRows());
+        for (int col = chunkX * CHUNK_TILES; col < lastCol; col++) {
+            for (int row = chunkY * CHUNK_TILES; row < lastRow; row++) {
+                EntityKind kind = EntityKind.fromCode(this.tileMap.getTile(col, row));
+                if (isStatic(kind)) {
+                    this.atlas.draw(g2d, SpriteAtlas.forKind(kind), (col - chunkX * CHUNK_TILES) * size,
+                            (row - chunkY * CHUNK_TILES) * size);
+                }
+            }
+        }
+        g2d.dispose();
+        return image;
+    }
+}
@@ -0,0 +1,114 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchRunnerTest {
+    private TileMap testMap;
+    private BatchRunner testRunner;
+
+    @BeforeEach
+    void runBefore() {
+        testMap = new TileMap(40, 14, 50);
+        for (int col = 0; col < 20; col++) {
+            testMap.setTile(col, 10, EntityKind.BLOCK);
+        }
+        testMap.setTile(8, 9, EntityKind.HAZARD);
+        testMap.setTile(15, 9, EntityKind.FINISH);
+        testRunner = new BatchRunner(testMap, 1000, 700);
+    }
+
+    @Test
+    void testOutcomes() {
+        List<InputScript> scripts = new ArrayList<>();
+        scripts.add(script(Command.RIGHT, 0));
+        scripts.add(script(Command.RIGHT, 0, Command.JUMP, 15));
+        scripts.add(script(Command.RIGHT, 0, Command.RELEASE, 5));
+        scripts.add(new InputScript());
+
+        List<RunResult> results = testRunner.runAll(scripts, 500);
+        assertEquals(4, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex());
+        }
+        assertEquals(RunOutcome.DIED, results.get(0).getOutcome());
+        assertEquals(RunOutcome.COMPLETED, results.get(1).getOutcome());
+        assertEquals(RunOutcome.TIMED_OUT, results.get(2).getOutcome());
+        assertEquals(RunOutcome.TIMED_OUT, results.get(3).getOutcome());
+        assertEquals(500, results.get(3).getFinishTick());
+        assertTrue(results.get(0).getFinishTick() < 500);
+        assertTrue(results.get(1).getCharacter().getPositionX() > 250);
+    }
+
+    @Test
+    void testFall() {
+        TileMap pit = new TileMap(10, 14, 50);
+        BatchRunner runner = new BatchRunner(pit, 1000, 700);
+        RunResult result = runner.runOne(0, new InputScript(), 500);
+        assertEquals(RunOutcome.FELL, result.getOutcome());
+        assertTrue(result.getCharacter().getPositionY() > 700);
+        assertTrue(result.getCharacter().getVelocityY() > 0);
+    }
+
+    @Test
+    void testParallelMatchesSequential() {
+        List<InputScript> scripts = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            scripts.add(script(Command.RIGHT, i % 7, Command.JUMP, 5 + i % 20));
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        List<RunResult> results = new BatchRunner(testMap, 1000, 700, pool).runAll(scripts, 400);
+        pool.shutdown();
+        for (int i = 0; i < scripts.size(); i++) {
+            RunResult expected = testRunner.runOne(i, scripts.get(i), 400);
+            RunResult actual = results.get(i);
+            assertEquals(expected.getOutcome(), actual.getOutcome());
+            assertEquals(expected.getFinishTick(), actual.getFinishTick());
+            assertEquals(expected.getCharacter().getPositionX(), actual.getCharacter().getPositionX());
+            assertEquals(expected.getCharacter().getPositionY(), actual.getCharacter().getPositionY());
+        }
+    }
+
+    @Test
+    void testRunsDoNotLogToSystemLog() {
+        int before = countEvents(EventLog.getInstance());
+        List<InputScript> scripts = new ArrayList<>();
+        scripts.add(script(Command.RIGHT, 0));
+        scripts.add(script(Command.RIGHT, 0, Command.JUMP, 15));
+        testRunner.runAll(scripts, 500);
+        assertEquals(before, countEvents(EventLog.getInstance()));
+    }
+
+    @Test
+    void testGameWithDetachedLog() {
+        EventLog log = EventLog.newDetachedLog();
+        assertNotSame(EventLog.getInstance(), log);
+        Game game = new Game(1000, 700, 50, 60, log);
+        assertSame(log, game.getEventLog());
+        assertEquals(1, countEvents(log));
+        assertSame(EventLog.getInstance(), new Game(1000, 700).getEventLog());
+    }
+
+    // EFFECTS: returns a script of the given (command, tick) pairs
+    private InputScript script(Object... commandsAndTicks) {
+        InputScript script = new InputScript();
+        for (int i = 0; i < commandsAndTicks.length; i += 2) {
+            script.add((Integer) commandsAndTicks[i + 1], (Command) commandsAndTicks[i]);
+        }
+        return script;
+    }
+
+    private int countEvents(EventLog log) {
+        int count = 0;
+        for (Event e : log) {
+            count++;
+        }
+        return count;
+    }
+}
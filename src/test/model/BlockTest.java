@@ -21,6 +21,7 @@ public class BlockTest {
         assertEquals(10, testBlock.getPositionX());
         assertEquals(10, testBlock.getPositionY());
         assertEquals("block", testBlock.getName());
+        assertEquals(EntityKind.BLOCK, testBlock.getKind());
 
         assertEquals(11, testBlock2.getPositionX());
         assertEquals(9, testBlock2.getPositionY());
@@ -17,6 +17,7 @@ class CharacterTest {
     @Test
     void testConstructor() {
         assertEquals("player", testCharacter.getName());
+        assertEquals(EntityKind.PLAYER, testCharacter.getKind());
         assertEquals(10, testCharacter.getPositionX());
         assertEquals(10, testCharacter.getPositionY());
         assertEquals(0, testCharacter.getVelocityX());
@@ -0,0 +1,167 @@
+package model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChunkStreamerTest {
+    private static final int COLUMNS = 200;
+    private static final int ROWS = 3;
+    private TestSource testSource;
+    private TileMap testMap;
+    private ChunkStreamer testStreamer;
+
+    // Chunk source where the tile at (col, 0) is a block for every column and the rest are empty
+    private static class TestSource implements ChunkSource {
+        private volatile int reads = 0;
+        private volatile boolean broken = false;
+
+        public int getColumns() {
+            return COLUMNS;
+        }
+
+        public int getRows() {
+            return ROWS;
+        }
+
+        public int getChunkColumns() {
+            return 8;
+        }
+
+        public void readChunk(int chunk, byte[] tiles) throws IOException {
+            if (broken) {
+                throw new IOException("broken");
+            }
+            reads++;
+            for (int i = 0; i < tiles.length; i++) {
+                int col = chunk * 8 + i / ROWS;
+                tiles[i] = (i % ROWS == 0 && col < COLUMNS) ? EntityKind.BLOCK.getCode() : TileMap.EMPTY;
+            }
+        }
+    }
+
+    @BeforeEach
+    void runBefore() {
+        testSource = new TestSource();
+        testMap = TileMap.streamed(testSource, 50);
+        testStreamer = new ChunkStreamer(testMap, 2, 6 * testMap.getChunkLength());
+    }
+
+    @AfterEach
+    void runAfter() {
+        testStreamer.close();
+    }
+
+    @Test
+    void testStreamedMapStartsEmpty() {
+        assertEquals(25, testMap.getChunkCount());
+        assertEquals(8, testMap.getChunkColumns());
+        assertEquals(24, testMap.getChunkLength());
+        assertFalse(testMap.isResident(0));
+        assertEquals(TileMap.EMPTY, testMap.getTile(0, 0));
+        assertSame(testSource, testMap.getSource());
+        assertEquals(6, testStreamer.getBudget());
+    }
+
+    @Test
+    void testLoadsAroundFocus() throws Exception {
+        testStreamer.start();
+        testStreamer.awaitResident(0, 3 * 8 * 50 - 1);
+        assertTrue(testMap.isResident(0));
+        assertTrue(testMap.isResident(2));
+        assertEquals(EntityKind.BLOCK.getCode(), testMap.getTile(5, 0));
+        assertEquals(TileMap.EMPTY, testMap.getTile(5, 1));
+
+        testStreamer.focus(10 * 8 * 50);
+        testStreamer.awaitResident(9 * 8 * 50, 13 * 8 * 50 - 1);
+        for (int chunk = 9; chunk <= 12; chunk++) {
+            assertTrue(testMap.isResident(chunk));
+        }
+        assertTrue(testStreamer.getResidentCount() <= testStreamer.getBudget());
+        assertFalse(testMap.isResident(0));
+        assertEquals(TileMap.EMPTY, testMap.getTile(5, 0));
+    }
+
+    @Test
+    void testEvictedTilesNotReused() throws Exception {
+        testStreamer.start();
+        testStreamer.awaitResident(0, 3 * 8 * 50 - 1);
+        byte[] first = testMap.readChunk(0, new byte[testMap.getChunkLength()]);
+        testStreamer.focus(20 * 8 * 50);
+        testStreamer.awaitResident(19 * 8 * 50, 23 * 8 * 50 - 1);
+        assertFalse(testMap.isResident(0));
+        for (int chunk = 19; chunk <= 22; chunk++) {
+            assertNotSame(first, testMap.readChunk(chunk, new byte[testMap.getChunkLength()]));
+        }
+        assertEquals(EntityKind.BLOCK.getCode(), first[0]);
+    }
+
+    @Test
+    void testFocusClampedToMap() throws Exception {
+        testStreamer.start();
+        testStreamer.focus(COLUMNS * 50 * 10);
+        testStreamer.awaitResident(COLUMNS * 50 * 10, COLUMNS * 50 * 10);
+        assertTrue(testMap.isResident(24));
+        assertEquals(EntityKind.BLOCK.getCode(), testMap.getTile(COLUMNS - 1, 0));
+        testStreamer.focus(-1000);
+        testStreamer.awaitResident(-1000, 0);
+        assertTrue(testMap.isResident(0));
+    }
+
+    @Test
+    void testReadFailureIsReported() throws Exception {
+        testSource.broken = true;
+        testStreamer.start();
+        try {
+            testStreamer.awaitResident(0, 0);
+            fail("IOException expected");
+        } catch (IOException e) {
+            assertEquals("broken", e.getMessage());
+        }
+    }
+
+    @Test
+    void testClosedStreamer() throws Exception {
+        testStreamer.start();
+        testStreamer.awaitResident(0, 0);
+        testStreamer.close();
+        try {
+            testStreamer.awaitResident(20 * 8 * 50, 20 * 8 * 50);
+            fail("IOException expected");
+        } catch (IOException e) {
+            // pass
+        }
+    }
+
+    @Test
+    void testReadChunkOfMap() throws IOException {
+        byte[] buffer = new byte[testMap.getChunkLength()];
+        assertSame(buffer, testMap.readChunk(3, buffer));
+        assertEquals(EntityKind.BLOCK.getCode(), buffer[0]);
+        byte[] resident = new byte[testMap.getChunkLength()];
+        testMap.setChunk(3, resident);
+        assertSame(resident, testMap.readChunk(3, buffer));
+        assertSame(resident, testMap.evictChunk(3));
+        assertNull(testMap.evictChunk(3));
+        try {
+            new TileMap(8, 1, 50).evictChunk(0);
+            TileMap dense = new TileMap(8, 1, 50);
+            dense.evictChunk(0);
+            dense.readChunk(0, new byte[dense.getChunkLength()]);
+            fail("IOException expected");
+        } catch (IOException e) {
+            // pass
+        }
+    }
+
+    @Test
+    void testGameSavesStreamedTiles() {
+        Game game = new Game(1000, 700);
+        game.setTileMap(testMap);
+        assertEquals(COLUMNS, game.toJson().getJSONArray("blocks").length());
+    }
+}
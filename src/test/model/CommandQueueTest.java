@@ -0,0 +1,83 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CommandQueueTest {
+    private CommandQueue testQueue;
+
+    @BeforeEach
+    void runBefore() {
+        testQueue = new CommandQueue(4);
+    }
+
+    @Test
+    void testConstructor() {
+        assertTrue(testQueue.isEmpty());
+        assertNull(testQueue.poll());
+        assertEquals(4, testQueue.getCapacity());
+    }
+
+    @Test
+    void testOfferAndPollInOrder() {
+        assertTrue(testQueue.offer(Command.RIGHT));
+        assertTrue(testQueue.offer(Command.JUMP));
+        assertFalse(testQueue.isEmpty());
+        assertEquals(Command.RIGHT, testQueue.poll());
+        assertEquals(Command.JUMP, testQueue.poll());
+        assertNull(testQueue.poll());
+        assertTrue(testQueue.isEmpty());
+    }
+
+    @Test
+    void testFullQueue() {
+        for (int i = 0; i < 4; i++) {
+            assertTrue(testQueue.offer(Command.LEFT));
+        }
+        assertFalse(testQueue.offer(Command.RELEASE));
+        assertEquals(Command.LEFT, testQueue.poll());
+        assertTrue(testQueue.offer(Command.RELEASE));
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Command.LEFT, testQueue.poll());
+        }
+        assertEquals(Command.RELEASE, testQueue.poll());
+        assertNull(testQueue.poll());
+    }
+
+    @Test
+    void testConcurrentProducers() throws InterruptedException {
+        CommandQueue queue = new CommandQueue(64);
+        Command[] values = Command.values();
+        int perProducer = 20000;
+        Thread[] producers = new Thread[values.length];
+        for (int p = 0; p < producers.length; p++) {
+            Command command = values[p];
+            producers[p] = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!queue.offer(command)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            producers[p].start();
+        }
+        int[] received = new int[values.length];
+        int total = 0;
+        while (total < perProducer * values.length) {
+            Command command = queue.poll();
+            if (command != null) {
+                received[command.ordinal()]++;
+                total++;
+            }
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        for (int count : received) {
+            assertEquals(perProducer, count);
+        }
+        assertNull(queue.poll());
+    }
+}
@@ -0,0 +1,229 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventLogTest {
+    private EventLog testLog;
+
+    @BeforeEach
+    void runBefore() {
+        testLog = EventLog.newDetachedLog(8);
+    }
+
+    @Test
+    void testLogAndDescribe() {
+        long before = System.currentTimeMillis();
+        testLog.logEvent(EventType.GAME_STARTED, 0);
+        testLog.logEvent(EventType.FELL, 130, 2);
+        testLog.logEvent(EventType.POWER_UP_COLLECTED, 140, EntityKind.SPEED.ordinal(), 1);
+        testLog.logEvent(EventType.POWER_UP_USED, 150, EntityKind.INVULNERABLE.ordinal(), 3);
+        List<Event> events = toList(testLog);
+        assertEquals(4, events.size());
+        assertEquals("\nGame started!", events.get(0).getDescription());
+        assertEquals("Fell to your demise at 2 seconds", events.get(1).getDescription());
+        assertEquals(EventType.FELL, events.get(1).getType());
+        assertEquals(130, events.get(1).getTick());
+        assertEquals("Picked up \"speedup\" power-up \n Assigned \"1\" key to speedup power-up",
+                events.get(2).getDescription());
+        assertEquals("Used invulnerability from slot \"3\"", events.get(3).getDescription());
+        long logged = events.get(1).getDate().getTime();
+        assertTrue(logged >= before - 1 && logged <= System.currentTimeMillis() + 1);
+        assertTrue(events.get(1).toString().endsWith("\nFell to your demise at 2 seconds"));
+    }
+
+    @Test
+    void testFullLogOverwritesOldest() {
+        for (int i = 0; i < 20; i++) {
+            testLog.logEvent(EventType.DIED, i);
+        }
+        List<Event> events = toList(testLog);
+        assertEquals(8, events.size());
+        assertEquals(12, events.get(0).getTick());
+        assertEquals(19, events.get(7).getTick());
+        assertEquals(20, testLog.getLogged());
+        assertEquals(8, testLog.getCapacity());
+    }
+
+    @Test
+    void testClear() {
+        testLog.logEvent(EventType.GAME_STARTED, 0);
+        testLog.logEvent(EventType.TOP_EDGE, 5);
+        testLog.clear();
+        List<Event> events = toList(testLog);
+        assertEquals(1, events.size());
+        assertEquals("Event log cleared.", events.get(0).getDescription());
+    }
+
+    @Test
+    void testIteratorIsSnapshot() {
+        testLog.logEvent(EventType.GAME_STARTED, 0);
+        Iterator<Event> iterator = testLog.iterator();
+        testLog.logEvent(EventType.TOP_EDGE, 1);
+        assertTrue(iterator.hasNext());
+        assertEquals(EventType.GAME_STARTED, iterator.next().getType());
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    void testEquals() {
+        testLog.logEvent(EventType.DIED, 60, 1);
+        Event event = toList(testLog).get(0);
+        Event same = toList(testLog).get(0);
+        assertEquals(event, same);
+        assertEquals(event.hashCode(), same.hashCode());
+        assertNotEquals(event, null);
+        assertNotEquals(event, "event");
+    }
+
+    @Test
+    void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> EventLog.newDetachedLog(0));
+        assertThrows(IllegalArgumentException.class, () -> EventLog.newDetachedLog(12));
+        assertEquals(EventLog.DEFAULT_CAPACITY, EventLog.newDetachedLog().getCapacity());
+        assertSame(EventLog.getInstance(), EventLog.getInstance());
+    }
+
+    @Test
+    void testCoalesceRepeats() {
+        testLog.logEvent(EventType.GAME_STARTED, 0);
+        for (int i = 10; i < 70; i++) {
+            testLog.logEvent(EventType.LEFT_EDGE, i);
+        }
+        testLog.logEvent(EventType.TOP_EDGE, 70);
+        testLog.logEvent(EventType.LEFT_EDGE, 71);
+        List<Event> events = toList(testLog);
+        assertEquals(4, events.size());
+        assertEquals(60, events.get(1).getRepeats());
+        assertEquals(10, events.get(1).getTick());
+        assertEquals(69, events.get(1).getLastTick());
+        assertEquals("Attempted to go beyond left edge (x60, ticks 10 to 69)", events.get(1).getDescription());
+        assertEquals(1, events.get(3).getRepeats());
+        assertEquals(71, events.get(3).getLastTick());
+        assertEquals("Attempted to go beyond left edge", events.get(3).getDescription());
+    }
+
+    @Test
+    void testCoalesceOnlyIdenticalEvents() {
+        testLog.logEvent(EventType.INVENTORY_FULL, 1, EntityKind.SPEED.ordinal());
+        testLog.logEvent(EventType.INVENTORY_FULL, 2, EntityKind.SPEED.ordinal());
+        testLog.logEvent(EventType.INVENTORY_FULL, 3, EntityKind.INVULNERABLE.ordinal());
+        List<Event> events = toList(testLog);
+        assertEquals(2, events.size());
+        assertEquals(2, events.get(0).getRepeats());
+        assertEquals(1, events.get(1).getRepeats());
+    }
+
+    @Test
+    void testConfigureCoalescing() {
+        assertTrue(testLog.isCoalescing(EventType.RIGHT_EDGE));
+        assertFalse(testLog.isCoalescing(EventType.DIED));
+        testLog.setCoalescing(EventType.RIGHT_EDGE, false);
+        testLog.setCoalescing(EventType.DIED, true);
+        assertFalse(testLog.isCoalescing(EventType.RIGHT_EDGE));
+        assertTrue(testLog.isCoalescing(EventType.DIED));
+        testLog.logEvent(EventType.RIGHT_EDGE, 1);
+        testLog.logEvent(EventType.RIGHT_EDGE, 2);
+        testLog.logEvent(EventType.DIED, 3, 0);
+        testLog.logEvent(EventType.DIED, 4, 0);
+        List<Event> events = toList(testLog);
+        assertEquals(3, events.size());
+        assertEquals(2, events.get(2).getRepeats());
+        assertTrue(EventLog.newDetachedLog().isCoalescing(EventType.RIGHT_EDGE));
+    }
+
+    @Test
+    void testClearEndsRepeats() {
+        testLog.logEvent(EventType.TOP_EDGE, 1);
+        testLog.clear();
+        testLog.logEvent(EventType.TOP_EDGE, 2);
+        List<Event> events = toList(testLog);
+        assertEquals(2, events.size());
+        assertEquals(EventType.TOP_EDGE, events.get(1).getType());
+        assertEquals(1, events.get(1).getRepeats());
+    }
+
+    @Test
+    void testConcurrentProducers() throws InterruptedException {
+        EventLog log = EventLog.newDetachedLog(1 << 16);
+        int producers = 4;
+        int perProducer = 10000;
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            int id = p;
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    log.logEvent(EventType.DIED, i, id);
+                }
+            });
+            threads[p].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        boolean[][] seen = new boolean[producers][perProducer];
+        int count = 0;
+        for (Event event : log) {
+            int id = Integer.parseInt(event.getDescription().replaceAll("\\D", ""));
+            assertFalse(seen[id][event.getTick()]);
+            seen[id][event.getTick()] = true;
+            count++;
+        }
+        assertEquals(producers * perProducer, count);
+    }
+
+    @Test
+    void testReadWhileRepeating() throws InterruptedException {
+        int repeats = 200000;
+        testLog.logEvent(EventType.LEFT_EDGE, 0);
+        Thread producer = new Thread(() -> {
+            for (int i = 1; i < repeats; i++) {
+                testLog.logEvent(EventType.LEFT_EDGE, i);
+            }
+        });
+        producer.start();
+        int reads = 0;
+        while (producer.isAlive() || reads == 0) {
+            List<Event> events = toList(testLog);
+            assertEquals(1, events.size());
+            assertEquals(events.get(0).getRepeats() - 1, events.get(0).getLastTick());
+            reads++;
+        }
+        producer.join();
+        assertEquals(repeats, toList(testLog).get(0).getRepeats());
+    }
+
+    @Test
+    void testLogEventDoesNotAllocate() {
+        com.sun.management.ThreadMXBean bean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        EventLog log = EventLog.newDetachedLog(1 << 10);
+        for (int i = 0; i < 20000; i++) {
+            log.logEvent(EventType.LEFT_EDGE, i, i, i);
+            log.logEvent(EventType.TOP_EDGE, i);
+        }
+        long before = bean.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < 100000; i++) {
+            log.logEvent(EventType.LEFT_EDGE, i, i, i);
+            log.logEvent(EventType.TOP_EDGE, i);
+        }
+        long allocated = bean.getThreadAllocatedBytes(thread) - before;
+        assertTrue(allocated < 1024, "logEvent allocated " + allocated + " bytes");
+    }
+
+    private List<Event> toList(EventLog log) {
+        List<Event> events = new ArrayList<>();
+        for (Event event : log) {
+            events.add(event);
+        }
+        return events;
+    }
+}
@@ -1,7 +1,13 @@
 package model;
 
+import org.json.JSONObject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -175,7 +181,7 @@ class GameTest {
         testGame.moveResolveCollisionsX();
         assertEquals(testGame.startingPosX, character.getPositionX());
 
-        testGame.getBlocks().remove(testBlock1);
+        testGame.removeBlock(testBlock1);
         character.setVelocityX(1);
         character.setVelocityXMultiplier(2);
         testGame.moveResolveCollisionsX();
@@ -375,6 +381,60 @@ class GameTest {
         assertEquals(3, testGame.getBlocks().size());
     }
 
+    @Test
+    void testRemoveBlock() {
+        testGame.addBlock(testBlock1);
+        testGame.addBlock(testBlock2);
+        testGame.getCharacter().setPositionX(testGame.startingPosX + 1);
+        assertEquals(2, testGame.checkCollisionList().size());
+
+        assertTrue(testGame.removeBlock(testBlock1));
+        assertFalse(testGame.getBlocks().contains(testBlock1));
+        assertEquals(1, testGame.getBlocks().size());
+        assertEquals(1, testGame.checkCollisionList().size());
+        assertFalse(testGame.removeBlock(testBlock1));
+    }
+
+    @Test
+    void testScrollMovesCameraOnly() {
+        Block farBlock = new Block(testGame.startingPosX + 500, testGame.startingPosY);
+        testGame.addBlock(farBlock);
+        assertEquals(0, testGame.checkCollisionList().size());
+
+        testGame.getCharacter().setPositionX(testGame.startingPosX + 500);
+        testGame.scroll();
+        assertEquals(testGame.startingPosX + 500, testGame.getCharacter().getPositionX());
+        assertEquals(testGame.startingPosX + 500, farBlock.getPositionX());
+        assertEquals(testGame.startingPosX + 500 - testGame.scrollXRight, testGame.getCameraX());
+        assertEquals(0, testGame.getCameraY());
+        assertEquals(1, testGame.checkCollisionList().size());
+        assertTrue(testGame.checkCollisionList().contains(farBlock));
+
+        testGame.getCharacter().setPositionY(testGame.startingPosY + 40);
+        testGame.scroll();
+        assertEquals(40, testGame.getCameraY());
+    }
+
+    @Test
+    void testBoundariesRelativeToCamera() {
+        Character character = testGame.getCharacter();
+        testGame.setCamera(100, 200);
+        character.setPositionX(90);
+        character.setPositionY(190);
+        testGame.resolveBoundaries();
+        assertEquals(100, character.getPositionX());
+        assertEquals(200, character.getPositionY());
+
+        character.setPositionX(100 + testGame.getMaxX() + 5);
+        testGame.resolveBoundaries();
+        assertEquals(100 + testGame.getMaxX(), character.getPositionX());
+
+        character.setPositionY(200 + testGame.getMaxY());
+        assertFalse(testGame.atBottomBoundary());
+        character.setPositionY(200 + testGame.getMaxY() + 1);
+        assertTrue(testGame.atBottomBoundary());
+    }
+
     @Test
     void testIsCollidedSetX() {
         testGame.addBlock(testBlock1);
@@ -404,4 +464,343 @@ class GameTest {
         assertTrue(testGame.isCollided(testGame.getCharacter(), testBlock4));
         assertFalse(testGame.isCollided(testGame.getCharacter(), testPowerUp1));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSweptSolverIsDefault() {
+        assertEquals(CollisionSolver.SWEPT, testGame.getCollisionSolver());
+        testGame.setCollisionSolver(CollisionSolver.PIXEL_STEP);
+        assertEquals(CollisionSolver.PIXEL_STEP, testGame.getCollisionSolver());
+    }
+
+    @Test
+    void testSweptStopsAtFirstBlock() {
+        Game game = new Game(1000, 700);
+        Character character = game.getCharacter();
+        Block floor = new Block(character.getPositionX(), character.getPositionY() + 80);
+        Block lowerFloor = new Block(character.getPositionX(), character.getPositionY() + 130);
+        game.addBlock(lowerFloor);
+        game.addBlock(floor);
+        character.setVelocityY(60);
+
+        game.moveResolveCollisionsYSwept();
+        assertEquals(floor.getTop(), character.getBottom());
+        assertEquals(0, character.getVelocityY());
+    }
+
+    @Test
+    void testSweptCollectsBeforeBlock() {
+        Game game = new Game(1000, 700);
+        Character character = game.getCharacter();
+        PowerUp speed = new PowerUp(character.getPositionX() + 60, character.getPositionY(), Game.SPEED);
+        Block wall = new Block(character.getPositionX() + 110, character.getPositionY());
+        Hazard beyondWall = new Hazard(character.getPositionX() + 160, character.getPositionY());
+        game.addBlock(speed);
+        game.addBlock(wall);
+        game.addBlock(beyondWall);
+        character.setVelocityX(200);
+
+        game.moveResolveCollisionsXSwept();
+        assertTrue(game.getInventory().contains(speed));
+        assertEquals(wall.getLeft(), character.getRight());
+        assertEquals(0, character.getVelocityX());
+        assertFalse(game.isEnded());
+    }
+
+    @Test
+    void testSweptMatchesPixelStep() {
+        Game swept = buildSolverComparisonGame(CollisionSolver.SWEPT);
+        Game pixel = buildSolverComparisonGame(CollisionSolver.PIXEL_STEP);
+
+        for (int tick = 0; tick < 400 && !pixel.isEnded(); tick++) {
+            if (tick % 40 == 0 && pixel.onPlatform()) {
+                assertTrue(swept.onPlatform());
+                pixel.getCharacter().setVelocityY(-21);
+                swept.getCharacter().setVelocityY(-21);
+            }
+            if (tick == 100 && pixel.getInventory().size() > 0) {
+                pixel.usePowerUp(pixel.getInventory().get(0));
+                swept.usePowerUp(swept.getInventory().get(0));
+            }
+            assertEquals(pixel.tick(), swept.tick());
+            assertEquals(pixel.getCharacter().getPositionX(), swept.getCharacter().getPositionX());
+            assertEquals(pixel.getCharacter().getPositionY(), swept.getCharacter().getPositionY());
+            assertEquals(pixel.getCharacter().getVelocityY(), swept.getCharacter().getVelocityY());
+            assertEquals(pixel.getInventory().size(), swept.getInventory().size());
+            assertEquals(pixel.isEnded(), swept.isEnded());
+        }
+        assertTrue(pixel.isEnded());
+        assertTrue(swept.isSuccess());
+    }
+
+    @Test
+    void testTileMapMatchesBlocks() {
+        Game blockGame = buildSolverComparisonGame(CollisionSolver.SWEPT);
+        Game tileGame = buildTileComparisonGame(CollisionSolver.SWEPT);
+        assertEquals(0, tileGame.getBlocks().size());
+
+        for (int tick = 0; tick < 600 && !blockGame.isEnded(); tick++) {
+            if (tick % 40 == 0 && blockGame.onPlatform()) {
+                assertTrue(tileGame.onPlatform());
+                blockGame.getCharacter().setVelocityY(-21);
+                tileGame.getCharacter().setVelocityY(-21);
+            }
+            blockGame.getCharacter().setVelocityX(5);
+            tileGame.getCharacter().setVelocityX(5);
+            assertEquals(blockGame.tick(), tileGame.tick());
+            assertEquals(blockGame.getCharacter().getPositionX(), tileGame.getCharacter().getPositionX());
+            assertEquals(blockGame.getCharacter().getPositionY(), tileGame.getCharacter().getPositionY());
+            assertEquals(blockGame.getInventory().size(), tileGame.getInventory().size());
+        }
+        assertTrue(blockGame.isSuccess());
+        assertTrue(tileGame.isSuccess());
+        assertEquals(Game.SPEED, tileGame.getInventory().get(0).getName());
+    }
+
+    @Test
+    void testTileMapPixelStepCollects() {
+        Game tileGame = buildTileComparisonGame(CollisionSolver.PIXEL_STEP);
+        TileMap tileMap = tileGame.getTileMap();
+        for (int tick = 0; tick < 100; tick++) {
+            tileGame.tick();
+        }
+        assertEquals(1, tileGame.getInventory().size());
+        assertNull(tileGame.getTileKind(8, 9));
+        assertEquals(EntityKind.SPEED.getCode(), tileMap.getTile(8, 9));
+    }
+
+    @Test
+    void testTileMapRemoveBlockAndJson() {
+        Game tileGame = buildTileComparisonGame(CollisionSolver.SWEPT);
+        int tiles = tileGame.getTileMap().count();
+        assertEquals(tiles, tileGame.toJson().getJSONArray("blocks").length());
+        assertEquals(EntityKind.INVULNERABLE, tileGame.getTileKind(18, 7));
+
+        assertFalse(tileGame.removeBlock(new PowerUp(18 * 50 + 1, 7 * 50, Game.INVULNERABLE)));
+        assertFalse(tileGame.removeBlock(new PowerUp(18 * 50, 7 * 50, Game.SPEED)));
+        assertTrue(tileGame.removeBlock(new PowerUp(18 * 50, 7 * 50, Game.INVULNERABLE)));
+        assertNull(tileGame.getTileKind(18, 7));
+        assertEquals(tiles - 1, tileGame.toJson().getJSONArray("blocks").length());
+
+        Game other = new Game(1000, 700);
+        other.setTileMap(tileGame.getTileMap());
+        assertEquals(EntityKind.INVULNERABLE, other.getTileKind(18, 7));
+    }
+
+    @Test
+    void testCaptureJsonKeepsStateWhenCaptured() {
+        Game tileGame = buildTileComparisonGame(CollisionSolver.SWEPT);
+        int tiles = tileGame.getTileMap().count();
+        Supplier<JSONObject> captured = tileGame.captureJson();
+        assertTrue(tileGame.removeBlock(new PowerUp(18 * 50, 7 * 50, Game.INVULNERABLE)));
+        tileGame.tick();
+        JSONObject json = captured.get();
+        assertEquals(tiles, json.getJSONArray("blocks").length());
+        assertEquals(0, json.getInt("time"));
+        assertEquals(tiles - 1, tileGame.toJson().getJSONArray("blocks").length());
+    }
+
+    @Test
+    void testCheckCollisionListIncludesTiles() {
+        Game tileGame = buildTileComparisonGame(CollisionSolver.SWEPT);
+        tileGame.getCharacter().setPositionX(260);
+        tileGame.getCharacter().setPositionY(480);
+        List<GameEntity> collided = tileGame.checkCollisionList();
+        assertEquals(2, collided.size());
+        assertEquals(EntityKind.BLOCK, collided.get(0).getKind());
+    }
+
+    // EFFECTS: builds a tile-aligned level with steps, power-ups and a finish line
+    // and starts the character running right with the given solver
+    private Game buildSolverComparisonGame(CollisionSolver solver) {
+        Game game = new Game(1000, 700);
+        game.setCollisionSolver(solver);
+        int floorY = 500;
+        for (int col = 0; col < 60; col++) {
+            game.addBlock(new Block(col * 50, floorY));
+        }
+        game.addBlock(new Block(600, floorY - 50));
+        game.addBlock(new Block(1200, floorY - 50));
+        game.addBlock(new Block(1250, floorY - 100));
+        game.addBlock(new PowerUp(400, floorY - 50, Game.SPEED));
+        game.addBlock(new PowerUp(900, floorY - 150, Game.INVULNERABLE));
+        game.addBlock(new FinishLine(2500, floorY - 50));
+        game.getCharacter().setPositionY(floorY - 50);
+        game.getCharacter().setVelocityX(5);
+        return game;
+    }
+
+    // EFFECTS: builds the same level as buildSolverComparisonGame out of a tile map
+    private Game buildTileComparisonGame(CollisionSolver solver) {
+        Game game = new Game(1000, 700);
+        game.setCollisionSolver(solver);
+        TileMap tileMap = new TileMap(60, 14, 50);
+        for (int col = 0; col < 60; col++) {
+            tileMap.setTile(col, 10, EntityKind.BLOCK);
+        }
+        tileMap.setTile(12, 9, EntityKind.BLOCK);
+        tileMap.setTile(24, 9, EntityKind.BLOCK);
+        tileMap.setTile(25, 8, EntityKind.BLOCK);
+        tileMap.setTile(8, 9, EntityKind.SPEED);
+        tileMap.setTile(18, 7, EntityKind.INVULNERABLE);
+        tileMap.setTile(50, 9, EntityKind.FINISH);
+        game.setTileMap(tileMap);
+        game.getCharacter().setPositionY(450);
+        game.getCharacter().setVelocityX(5);
+        return game;
+    }
+
+    @Test
+    void testApplyCommand() {
+        Character character = testGame.getCharacter();
+        testGame.applyCommand(Command.LEFT);
+        assertEquals(Game.RUN_VELOCITY, character.getVelocityX());
+        assertEquals(-1, character.getVelocityXMultiplier());
+        testGame.applyCommand(Command.LEFT);
+        assertEquals(-1, character.getVelocityXMultiplier());
+        testGame.applyCommand(Command.RIGHT);
+        assertEquals(1, character.getVelocityXMultiplier());
+        testGame.applyCommand(Command.RELEASE);
+        assertEquals(0, character.getVelocityX());
+
+        character.setPositionY(-500);
+        testGame.applyCommand(Command.JUMP);
+        assertEquals(0, character.getVelocityY());
+        testGame.addBlock(new Block(character.getPositionX(), character.getBottom()));
+        testGame.applyCommand(Command.JUMP);
+        assertEquals(Game.JUMP_VELOCITY, character.getVelocityY());
+
+        testGame.applyCommand(Command.USE_1);
+        testGame.collectPowerUp(testPowerUp1);
+        testGame.collectPowerUp(testPowerUp2);
+        testGame.applyCommand(Command.USE_2);
+        assertEquals(Game.POWER_UP_TIME, testGame.getInvulnerabilityEnd());
+        assertEquals(0, testGame.getSpeedEnd());
+        testGame.applyCommand(Command.USE_3);
+        testGame.applyCommand(Command.USE_1);
+        assertEquals(Game.POWER_UP_TIME, testGame.getSpeedEnd());
+        assertEquals(0, testGame.getInventory().size());
+    }
+
+    @Test
+    void testQueueCommandAppliedAtNextTick() {
+        Character character = testGame.getCharacter();
+        InputScript recording = new InputScript();
+        testGame.setRecording(recording);
+        testGame.tick();
+        assertTrue(testGame.queueCommand(Command.RIGHT));
+        assertTrue(testGame.queueCommand(Command.RELEASE));
+        assertTrue(testGame.queueCommand(Command.LEFT));
+        assertEquals(0, character.getVelocityX());
+        assertEquals(0, recording.size());
+        testGame.tick();
+        assertEquals(Game.RUN_VELOCITY, character.getVelocityX());
+        assertEquals(-1, character.getVelocityXMultiplier());
+        assertEquals(3, recording.size());
+        assertEquals(1, recording.getTick(0));
+        assertEquals(Command.RIGHT, recording.getCommand(0));
+        assertEquals(Command.LEFT, recording.getCommand(2));
+        testGame.tick();
+        assertEquals(3, recording.size());
+    }
+
+    @Test
+    void testQueueCommandFull() {
+        for (int i = 0; i < Game.COMMAND_QUEUE_CAPACITY; i++) {
+            assertTrue(testGame.queueCommand(Command.RELEASE));
+        }
+        assertFalse(testGame.queueCommand(Command.JUMP));
+        testGame.tick();
+        assertTrue(testGame.queueCommand(Command.JUMP));
+    }
+
+    @Test
+    void testQueryCollisionsIntoCallerBuffer() {
+        Game tileGame = buildTileComparisonGame(CollisionSolver.SWEPT);
+        Character character = tileGame.getCharacter();
+        character.setPositionX(260);
+        character.setPositionY(480);
+        ContactBuffer buffer = new ContactBuffer();
+        buffer.add(EntityKind.BLOCK, 0, 0, 0, 0, null);
+        int found = tileGame.queryCollisions(buffer);
+        assertEquals(2, found);
+        assertEquals(found + 1, buffer.size());
+        assertEquals(tileGame.checkCollisionList().size(), found);
+        for (int i = 1; i < buffer.size(); i++) {
+            assertNull(buffer.getBlock(i));
+        }
+        assertEquals(0, tileGame.queryCollisions(-1000, -1000, -900, -900, buffer));
+    }
+
+    @Test
+    void testOnPlatformDoesNotMoveCharacter() {
+        Character character = testGame.getCharacter();
+        character.setPositionY(-500);
+        testGame.addBlock(new Block(character.getPositionX(), character.getBottom()));
+        int y = character.getPositionY();
+        assertTrue(testGame.onPlatform());
+        assertEquals(y, character.getPositionY());
+        character.setPositionY(y - 2);
+        assertFalse(testGame.onPlatform());
+    }
+
+    @Test
+    void testTickDoesNotAllocate() {
+        for (CollisionSolver solver : CollisionSolver.values()) {
+            Game game = new Game(1000, 700, 50, 60, EventLog.newDetachedLog());
+            TileMap tileMap = new TileMap(4000, 14, 50);
+            for (int col = 0; col < tileMap.getColumns(); col++) {
+                tileMap.setTile(col, 10, EntityKind.BLOCK);
+                if (col % 7 == 0) {
+                    tileMap.setTile(col, 6, EntityKind.BLOCK);
+                }
+            }
+            game.setTileMap(tileMap);
+            game.setCollisionSolver(solver);
+            game.applyCommand(Command.RIGHT);
+
+            runJumping(game, 6000);
+            com.sun.management.ThreadMXBean bean =
+                    (com.sun.management.ThreadMXBean) java.lang.management.ManagementFactory.getThreadMXBean();
+            long thread = Thread.currentThread().getId();
+            long before = bean.getThreadAllocatedBytes(thread);
+            runJumping(game, 6000);
+            long allocated = bean.getThreadAllocatedBytes(thread) - before;
+            assertFalse(game.isEnded());
+            assertTrue(allocated < 1024, solver + " ticks allocated " + allocated + " bytes");
+        }
+    }
+
+    // MODIFIES: game
+    // EFFECTS: ticks game the given number of times, jumping whenever it lands
+    private void runJumping(Game game, int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            if (game.onPlatform()) {
+                game.applyCommand(Command.JUMP);
+            }
+            game.tick();
+        }
+    }
+
+    @Test
+    public void testUnknownPowerUpLogged() {
+        EventLog log = EventLog.newDetachedLog(8);
+        Game game = new Game(1000, 700, Game.DEFAULT_TILE_SIZE, Game.DEFAULT_TICK_RATE, log);
+        PowerUp unknown = new PowerUp(0, 0, "invulnerable");
+        assertNull(unknown.getKind());
+        game.addBlock(unknown);
+        assertTrue(game.collectPowerUp(unknown));
+        game.usePowerUp(unknown);
+        for (String key : new String[] {"1", "2", "3"}) {
+            game.removeAvailableKey(key);
+        }
+        assertFalse(game.collectPowerUp(new PowerUp(0, 0, "invulnerable")));
+
+        List<String> descriptions = new ArrayList<>();
+        for (Event event : log) {
+            descriptions.add(event.getDescription());
+        }
+        assertEquals(List.of("\nGame started!", "Picked up \"unknown\" power-up \n Assigned \"1\" key to unknown power-up",
+                "Used unknown from slot \"1\"",
+                "Inventory full. Did not pick up \"unknown\" power-up."), descriptions);
+    }
+}
@@ -19,6 +19,7 @@ public class HazardTest {
         assertEquals(10, testHazard.getPositionX());
         assertEquals(10, testHazard.getPositionY());
         assertEquals("hazard", testHazard.getName());
+        assertEquals(EntityKind.HAZARD, testHazard.getKind());
     }
 }
 
@@ -0,0 +1,141 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HeadlessEngineTest {
+    private Game testGame;
+    private InputScript testScript;
+
+    @BeforeEach
+    void runBefore() {
+        testGame = new Game(1000, 700);
+        TileMap tileMap = new TileMap(40, 14, 50);
+        for (int col = 0; col < 40; col++) {
+            tileMap.setTile(col, 10, EntityKind.BLOCK);
+        }
+        tileMap.setTile(10, 9, EntityKind.BLOCK);
+        tileMap.setTile(30, 9, EntityKind.FINISH);
+        testGame.setTileMap(tileMap);
+        testGame.getCharacter().setPositionY(450);
+        testScript = new InputScript();
+    }
+
+    @Test
+    void testScriptOrdering() {
+        testScript.add(5, Command.JUMP);
+        testScript.add(0, Command.RIGHT);
+        testScript.add(5, Command.USE_2);
+        assertEquals(3, testScript.size());
+        assertEquals(Command.RIGHT, testScript.getCommand(0));
+        assertEquals(Command.JUMP, testScript.getCommand(1));
+        assertEquals(Command.USE_2, testScript.getCommand(2));
+        for (int i = 0; i < 40; i++) {
+            testScript.add(100 + i, Command.LEFT);
+        }
+        assertEquals(43, testScript.size());
+        assertEquals(139, testScript.getTick(42));
+    }
+
+    @Test
+    void testCommandsAppliedOnTheirTick() {
+        testScript.add(2, Command.RIGHT);
+        testScript.add(4, Command.RELEASE);
+        HeadlessEngine engine = new HeadlessEngine(testGame, testScript);
+        Character character = testGame.getCharacter();
+
+        engine.step();
+        engine.step();
+        assertEquals(testGame.startingPosX, character.getPositionX());
+        engine.step();
+        assertEquals(testGame.startingPosX + Game.RUN_VELOCITY, character.getPositionX());
+        engine.step();
+        engine.step();
+        assertEquals(0, character.getVelocityX());
+        assertEquals(testGame.startingPosX + 2 * Game.RUN_VELOCITY, character.getPositionX());
+    }
+
+    @Test
+    void testRunToFinish() {
+        testScript.add(0, Command.RIGHT);
+        testScript.add(20, Command.JUMP);
+        HeadlessEngine engine = new HeadlessEngine(testGame, testScript);
+
+        long ran = engine.run(1000);
+        assertTrue(testGame.isEnded());
+        assertTrue(testGame.isSuccess());
+        assertEquals(testGame.getTime(), ran);
+        assertEquals(ran, engine.getTicksRun());
+        assertTrue(engine.getTicksPerSecond() > 0);
+        assertEquals(0, engine.run(1000));
+    }
+
+    @Test
+    void testRunStopsAtMaxTicks() {
+        HeadlessEngine engine = new HeadlessEngine(testGame, testScript);
+        assertEquals(0, engine.getTicksPerSecond());
+        assertEquals(50, engine.run(50));
+        assertFalse(testGame.isEnded());
+        assertEquals(50, testGame.getTime());
+        assertSame(testGame, engine.getGame());
+    }
+
+    @Test
+    void testInjectedTileSizeAndTickRate() {
+        Game small = new Game(100, 100, 10, 30);
+        assertEquals(10, small.getTileSize());
+        assertEquals(30, small.getTickRate());
+        assertEquals(10, small.getCharacter().getSize());
+        Block block = new Block(0, 0);
+        small.addBlock(block);
+        assertEquals(9, block.getRight());
+    }
+
+    @Test
+    void testTickListenerInterval() {
+        int[] frames = new int[1];
+        HeadlessEngine engine = new HeadlessEngine(testGame, testScript);
+        engine.setTickListener(game -> {
+            assertSame(testGame, game);
+            assertEquals(0, game.getTime() % 4);
+            frames[0]++;
+        }, 4);
+        engine.run(40);
+        assertEquals(10, frames[0]);
+        engine.setTickListener(null, 1);
+        engine.run(10);
+        assertEquals(10, frames[0]);
+    }
+
+    @Test
+    void testReplayOfRecordingIsIdentical() {
+        testGame.setRecording(new InputScript());
+        Game replayed = new Game(1000, 700);
+        replayed.setTileMap(testGame.getTileMap());
+        replayed.getCharacter().setPositionY(450);
+        for (int i = 0; i < 300 && !testGame.isEnded(); i++) {
+            if (i == 3) {
+                testGame.applyCommand(Command.RIGHT);
+            } else if (i == 40 || i == 41) {
+                testGame.applyCommand(Command.JUMP);
+            } else if (i == 90) {
+                testGame.applyCommand(Command.LEFT);
+            } else if (i == 120) {
+                testGame.applyCommand(Command.RIGHT);
+            }
+            testGame.tick();
+        }
+        assertEquals(5, testGame.getRecording().size());
+        assertEquals(40, testGame.getRecording().getTick(1));
+
+        HeadlessEngine engine = new HeadlessEngine(replayed, testGame.getRecording());
+        engine.run(testGame.getTime());
+        assertEquals(testGame.getTime(), replayed.getTime());
+        assertEquals(testGame.isEnded(), replayed.isEnded());
+        assertEquals(testGame.getCharacter().getPositionX(), replayed.getCharacter().getPositionX());
+        assertEquals(testGame.getCharacter().getPositionY(), replayed.getCharacter().getPositionY());
+        assertNull(replayed.getRecording());
+    }
+}
@@ -21,10 +21,20 @@ public class PowerUpTest {
         assertEquals(10, testPowerUp.getPositionX());
         assertEquals(10, testPowerUp.getPositionY());
         assertEquals("speedup", testPowerUp.getName());
+        assertEquals(EntityKind.SPEED, testPowerUp.getKind());
 
         assertEquals(1, testPowerUp2.getPositionX());
         assertEquals(1, testPowerUp2.getPositionY());
         assertEquals("invulnerable", testPowerUp2.getName());
+        assertNull(testPowerUp2.getKind());
+    }
+
+    @Test
+    void testSetNameUpdatesKind() {
+        testPowerUp.setName(Game.INVULNERABLE);
+        assertEquals(EntityKind.INVULNERABLE, testPowerUp.getKind());
+        assertTrue(testPowerUp.getKind().isPowerUp());
+        assertFalse(EntityKind.FINISH.isPowerUp());
     }
 }
 
@@ -0,0 +1,120 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RenderSnapshotTest {
+    private Game testGame;
+    private RenderSnapshot testSnapshot;
+
+    @BeforeEach
+    void runBefore() {
+        testGame = new Game(1000, 700);
+        TileMap tileMap = new TileMap(60, 14, 50);
+        for (int col = 0; col < 60; col++) {
+            tileMap.setTile(col, 10, EntityKind.BLOCK);
+        }
+        tileMap.setTile(8, 9, EntityKind.SPEED);
+        tileMap.setTile(50, 9, EntityKind.INVULNERABLE);
+        testGame.setTileMap(tileMap);
+        testGame.addBlock(new PowerUp(600, 450, Game.INVULNERABLE));
+        testGame.addBlock(new Hazard(2000, 450));
+        testGame.getCharacter().setPositionY(450);
+        testSnapshot = new RenderSnapshot();
+    }
+
+    @Test
+    void testEmptySnapshot() {
+        assertEquals(0, testSnapshot.getSprites());
+        assertNull(testSnapshot.getTileMap());
+        assertFalse(testSnapshot.hasCharacter());
+        assertNull(testSnapshot.getItem(0));
+    }
+
+    @Test
+    void testCaptureView() {
+        testSnapshot.capture(testGame, 1000, 700);
+        assertSame(testGame.getTileMap(), testSnapshot.getTileMap());
+        assertEquals(2, testSnapshot.getSprites());
+        assertEquals(1, testSnapshot.getCulled());
+        assertEquals(600, testSnapshot.getSpriteX(0));
+        assertEquals(EntityKind.INVULNERABLE, testSnapshot.getSpriteKind(0));
+        assertEquals(400, testSnapshot.getSpriteX(1));
+        assertEquals(450, testSnapshot.getSpriteY(1));
+        assertEquals(EntityKind.SPEED, testSnapshot.getSpriteKind(1));
+        assertTrue(testSnapshot.hasCharacter());
+        assertEquals(testGame.getCharacter().getPositionX(), testSnapshot.getCharacterX());
+        assertEquals(450, testSnapshot.getCharacterY());
+        assertEquals(1, testSnapshot.getDirection());
+        assertFalse(testSnapshot.isInvulnerable());
+    }
+
+    @Test
+    void testCaptureFollowsCamera() {
+        testGame.setCamera(1600, 0);
+        testSnapshot.capture(testGame, 1000, 700);
+        assertEquals(1600, testSnapshot.getCameraX());
+        assertEquals(2, testSnapshot.getSprites());
+        assertEquals(EntityKind.HAZARD, testSnapshot.getSpriteKind(0));
+        assertEquals(2500, testSnapshot.getSpriteX(1));
+        assertEquals(EntityKind.INVULNERABLE, testSnapshot.getSpriteKind(1));
+    }
+
+    @Test
+    void testCaptureState() {
+        testGame.applyCommand(Command.LEFT);
+        testGame.setTime(130);
+        testGame.setInvulnerabilityEnd(200);
+        PowerUp pu = new PowerUp(0, 0, Game.SPEED);
+        pu.setKeyAssignment("2");
+        testGame.addPowerUpToInventory(pu);
+        testSnapshot.capture(testGame, 1000, 700);
+        assertEquals(-1, testSnapshot.getDirection());
+        assertTrue(testSnapshot.isInvulnerable());
+        assertEquals(130, testSnapshot.getTime());
+        assertEquals(Game.DEFAULT_TICK_RATE, testSnapshot.getTickRate());
+        assertNull(testSnapshot.getItem(0));
+        assertEquals(EntityKind.SPEED, testSnapshot.getItem(1));
+        assertNull(testSnapshot.getItem(2));
+    }
+
+    @Test
+    void testCaptureAgainReplacesState() {
+        for (int i = 0; i < 100; i++) {
+            testGame.addBlock(new Block(i * 10, 100));
+        }
+        testSnapshot.capture(testGame, 1000, 700);
+        assertEquals(102, testSnapshot.getSprites());
+        testGame.setCamera(1600, 0);
+        testSnapshot.capture(testGame, 1000, 700);
+        assertEquals(2, testSnapshot.getSprites());
+    }
+
+    @Test
+    void testCaptureMargin() {
+        testGame.addBlock(new Block(1010, 300));
+        testGame.addBlock(new Block(1050, 300));
+        testGame.addBlock(new Block(300, -100));
+        testGame.addBlock(new Block(300, -49));
+        testSnapshot.capture(testGame, 1000, 700);
+        assertEquals(4, testSnapshot.getSprites());
+        assertEquals(3, testSnapshot.getCulled());
+        for (int i = 0; i < testSnapshot.getSprites(); i++) {
+            assertNotEquals(1050, testSnapshot.getSpriteX(i));
+            assertNotEquals(-100, testSnapshot.getSpriteY(i));
+        }
+    }
+
+    @Test
+    void testCullingOnLongMap() {
+        for (int i = 0; i < 10000; i++) {
+            testGame.addBlock(new Block(i * 50, 600));
+        }
+        testGame.setCamera(200000, 0);
+        testSnapshot.capture(testGame, 1000, 700);
+        assertEquals(22, testSnapshot.getSprites());
+        assertEquals(10002 - 22, testSnapshot.getCulled());
+    }
+}
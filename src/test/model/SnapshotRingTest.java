@@ -0,0 +1,154 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SnapshotRingTest {
+    private Game testGame;
+    private SnapshotRing testRing;
+
+    @BeforeEach
+    void runBefore() {
+        testGame = new Game(1000, 700);
+        TileMap tileMap = new TileMap(40, 14, 50);
+        for (int col = 0; col < 40; col++) {
+            tileMap.setTile(col, 10, EntityKind.BLOCK);
+        }
+        tileMap.setTile(8, 9, EntityKind.SPEED);
+        testGame.setTileMap(tileMap);
+        testGame.addBlock(new PowerUp(600, 450, Game.INVULNERABLE));
+        testGame.getCharacter().setPositionY(450);
+        testRing = new SnapshotRing(4);
+    }
+
+    @Test
+    void testEmptyRing() {
+        assertEquals(0, testRing.size());
+        assertEquals(4, testRing.getCapacity());
+        assertEquals(-1, testRing.rewind(testGame, 1));
+    }
+
+    @Test
+    void testRewindRestoresState() {
+        testGame.applyCommand(Command.RIGHT);
+        testGame.tick();
+        testRing.capture(testGame);
+        Character character = testGame.getCharacter();
+        int x = character.getPositionX();
+        int y = character.getPositionY();
+        int cameraX = testGame.getCameraX();
+
+        character.setVelocityY(-7);
+        character.setVelocityXMultiplier(-2);
+        testGame.setInvulnerabilityEnd(500);
+        testGame.setSpeedEnd(400);
+        for (int i = 0; i < 3; i++) {
+            testGame.tick();
+            testRing.capture(testGame);
+        }
+        testGame.setEnded(true);
+        testGame.setSuccess(true);
+
+        assertEquals(3, testRing.rewind(testGame, 3));
+        assertEquals(1, testRing.size());
+        assertEquals(x, character.getPositionX());
+        assertEquals(y, character.getPositionY());
+        assertEquals(Game.RUN_VELOCITY, character.getVelocityX());
+        assertEquals(1, character.getVelocityXMultiplier());
+        assertEquals(1, testGame.getTime());
+        assertEquals(0, testGame.getInvulnerabilityEnd());
+        assertEquals(0, testGame.getSpeedEnd());
+        assertEquals(cameraX, testGame.getCameraX());
+        assertFalse(testGame.isEnded());
+        assertFalse(testGame.isSuccess());
+    }
+
+    @Test
+    void testRingOverwritesOldest() {
+        for (int i = 0; i < 10; i++) {
+            testGame.tick();
+            testRing.capture(testGame);
+        }
+        assertEquals(4, testRing.size());
+        assertEquals(0, testRing.rewind(testGame, 0));
+        assertEquals(10, testGame.getTime());
+        assertEquals(3, testRing.rewind(testGame, 100));
+        assertEquals(7, testGame.getTime());
+        assertEquals(0, testRing.rewind(testGame, 100));
+
+        testGame.tick();
+        testRing.capture(testGame);
+        assertEquals(1, testRing.rewind(testGame, 1));
+        assertEquals(7, testGame.getTime());
+        testRing.clear();
+        assertEquals(-1, testRing.rewind(testGame, 1));
+    }
+
+    @Test
+    void testRewindPutsBackCollectedPowerUps() {
+        testRing.capture(testGame);
+        Block block = testGame.getBlocks().iterator().next();
+        assertTrue(testGame.collectPowerUp((PowerUp) block));
+        PowerUp speed = new PowerUp(400, 450, Game.SPEED);
+        assertTrue(testGame.collectPowerUp(speed));
+        testRing.capture(testGame);
+        testGame.usePowerUp(speed);
+        assertNull(speed.getKeyAssignment());
+        testRing.capture(testGame);
+
+        assertEquals(0, testGame.getBlocks().size());
+        assertNull(testGame.getTileKind(8, 9));
+        assertEquals(1, testGame.getInventory().size());
+        assertEquals(2, testGame.getRemovalCount());
+
+        testRing.rewind(testGame, 1);
+        assertEquals(2, testGame.getInventory().size());
+        assertEquals("2", speed.getKeyAssignment());
+        assertEquals(1, testGame.getAvailableKeys().size());
+        assertEquals("3", testGame.getAvailableKeys().get(0));
+
+        testRing.rewind(testGame, 1);
+        assertEquals(0, testGame.getInventory().size());
+        assertEquals(3, testGame.getAvailableKeys().size());
+        assertEquals(1, testGame.getBlocks().size());
+        assertEquals(EntityKind.SPEED, testGame.getTileKind(8, 9));
+        assertEquals(0, testGame.getRemovalCount());
+    }
+
+    @Test
+    void testRewindTruncatesRecording() {
+        testGame.setRecording(new InputScript());
+        testGame.applyCommand(Command.RIGHT);
+        testGame.tick();
+        testRing.capture(testGame);
+        testGame.applyCommand(Command.JUMP);
+        testGame.tick();
+        testGame.applyCommand(Command.RELEASE);
+        testRing.capture(testGame);
+        testRing.rewind(testGame, 1);
+        assertEquals(1, testGame.getRecording().size());
+        assertEquals(Command.RIGHT, testGame.getRecording().getCommand(0));
+    }
+
+    @Test
+    void testCaptureDoesNotAllocate() {
+        com.sun.management.ThreadMXBean bean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        testGame.collectPowerUp(new PowerUp(400, 450, Game.SPEED));
+        SnapshotRing ring = new SnapshotRing(60);
+        for (int i = 0; i < 20000; i++) {
+            ring.capture(testGame);
+        }
+        long before = bean.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < 100000; i++) {
+            ring.capture(testGame);
+        }
+        long allocated = bean.getThreadAllocatedBytes(thread) - before;
+        assertTrue(allocated < 1024, "capture allocated " + allocated + " bytes");
+    }
+}
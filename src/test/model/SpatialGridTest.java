@@ -0,0 +1,82 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SpatialGridTest {
+    private SpatialGrid testGrid;
+    private List<Block> found;
+
+    @BeforeEach
+    void runBefore() {
+        testGrid = new SpatialGrid(50);
+        found = new ArrayList<>();
+    }
+
+    @Test
+    void testConstructor() {
+        assertEquals(50, testGrid.getCellSize());
+        assertEquals(0, testGrid.size());
+        assertEquals(0, testGrid.query(0, 0, 1000, 1000, found));
+    }
+
+    @Test
+    void testInsertAlignedAndQuery() {
+        Block inside = new Block(100, 100);
+        Block outside = new Block(400, 100);
+        testGrid.insert(inside);
+        testGrid.insert(outside);
+        assertEquals(2, testGrid.size());
+
+        assertEquals(1, testGrid.query(100, 100, 149, 149, found));
+        assertTrue(found.contains(inside));
+        found.clear();
+        assertEquals(2, testGrid.query(100, 100, 449, 149, found));
+    }
+
+    @Test
+    void testStraddlingBlockReportedOnce() {
+        Block straddling = new Block(75, 75);
+        testGrid.insert(straddling);
+
+        assertEquals(1, testGrid.query(0, 0, 199, 199, found));
+        found.clear();
+        assertEquals(1, testGrid.query(110, 110, 120, 120, found));
+    }
+
+    @Test
+    void testNegativeCoordinates() {
+        Block negative = new Block(-60, -10);
+        testGrid.insert(negative);
+
+        assertEquals(0, testGrid.query(0, 0, 49, 49, found));
+        assertEquals(1, testGrid.query(-20, -20, -1, -1, found));
+    }
+
+    @Test
+    void testRemove() {
+        Block straddling = new Block(75, 75);
+        testGrid.insert(straddling);
+
+        assertTrue(testGrid.remove(straddling));
+        assertEquals(0, testGrid.size());
+        assertEquals(0, testGrid.query(0, 0, 199, 199, found));
+        assertFalse(testGrid.remove(straddling));
+    }
+
+    @Test
+    void testManyBlocksGrowTable() {
+        for (int i = 0; i < 1000; i++) {
+            testGrid.insert(new Block(i * 50, 0));
+        }
+        assertEquals(1000, testGrid.size());
+        assertEquals(1, testGrid.query(25000, 0, 25049, 49, found));
+        found.clear();
+        assertEquals(3, testGrid.query(25000, 0, 25149, 49, found));
+    }
+}
@@ -0,0 +1,80 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TickClockTest {
+    private static final long TICK = 1000000000L / 60;
+    private TickClock testClock;
+
+    @BeforeEach
+    void runBefore() {
+        testClock = new TickClock(60, 5);
+        testClock.start(0);
+    }
+
+    @Test
+    void testConstructor() {
+        assertEquals(TICK, testClock.getTickNanos());
+        assertEquals(5, testClock.getMaxFrameSkip());
+        assertEquals(0, testClock.getNextTick());
+        assertEquals(0, testClock.getLag());
+        assertEquals(0, testClock.getSkippedFrames());
+        assertEquals(0, testClock.getDroppedTicks());
+    }
+
+    @Test
+    void testOneTickPerInterval() {
+        assertEquals(1, testClock.ticksDue(0));
+        assertEquals(TICK, testClock.getNextTick());
+        assertEquals(0, testClock.ticksDue(TICK - 1));
+        assertEquals(1, testClock.ticksDue(TICK + 100));
+        assertEquals(2 * TICK, testClock.getNextTick());
+        assertEquals(0, testClock.getSkippedFrames());
+    }
+
+    @Test
+    void testCatchUpSkipsFrames() {
+        assertEquals(1, testClock.ticksDue(0));
+        assertEquals(3, testClock.ticksDue(3 * TICK + 5));
+        assertEquals(4 * TICK, testClock.getNextTick());
+        assertEquals(2, testClock.getSkippedFrames());
+        assertEquals(0, testClock.getLag());
+    }
+
+    @Test
+    void testFrameSkipLimited() {
+        assertEquals(6, testClock.ticksDue(9 * TICK));
+        assertEquals(4, testClock.getLag());
+        assertEquals(5, testClock.getSkippedFrames());
+        assertEquals(4, testClock.ticksDue(9 * TICK));
+        assertEquals(0, testClock.getLag());
+        assertEquals(10 * TICK, testClock.getNextTick());
+        assertEquals(0, testClock.getDroppedTicks());
+    }
+
+    @Test
+    void testLongPauseDropped() {
+        assertEquals(1, testClock.ticksDue(0));
+        assertEquals(6, testClock.ticksDue(TICK + 120 * TICK));
+        assertEquals(0, testClock.getLag());
+        assertEquals(115, testClock.getDroppedTicks());
+        assertEquals(122 * TICK, testClock.getNextTick());
+        assertEquals(0, testClock.ticksDue(122 * TICK - 1));
+    }
+
+    @Test
+    void testAwaitNextTick() {
+        TickClock clock = new TickClock(1000, 0);
+        long start = System.nanoTime();
+        clock.start(start);
+        for (int i = 0; i < 20; i++) {
+            assertEquals(1, clock.ticksDue(System.nanoTime()));
+            clock.awaitNextTick();
+            assertTrue(System.nanoTime() >= clock.getNextTick());
+        }
+        assertTrue(System.nanoTime() - start >= 20 * 1000000L);
+    }
+}
@@ -0,0 +1,145 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TickProfilerTest {
+    private TickProfiler profiler;
+
+    @BeforeEach
+    void runBefore() {
+        profiler = TickProfiler.newDetachedProfiler();
+    }
+
+    @Test
+    void testRecord() {
+        profiler.record(TickProfiler.Metric.PHYSICS, 10);
+        profiler.record(TickProfiler.Metric.PHYSICS, 30);
+        assertEquals(2, profiler.count(TickProfiler.Metric.PHYSICS));
+        assertEquals(20, profiler.mean(TickProfiler.Metric.PHYSICS));
+        assertEquals(30, profiler.max(TickProfiler.Metric.PHYSICS));
+        assertEquals(0, profiler.count(TickProfiler.Metric.SCROLL));
+        assertEquals(0, profiler.mean(TickProfiler.Metric.SCROLL));
+    }
+
+    @Test
+    void testLap() {
+        long start = System.nanoTime();
+        long now = profiler.lap(TickProfiler.Metric.TICK, start);
+        assertTrue(now >= start);
+        assertEquals(1, profiler.count(TickProfiler.Metric.TICK));
+        assertEquals(now - start, profiler.max(TickProfiler.Metric.TICK));
+    }
+
+    @Test
+    void testPercentile() {
+        assertEquals(0, profiler.percentile(TickProfiler.Metric.FRAME, 99));
+        for (int i = 0; i < 99; i++) {
+            profiler.record(TickProfiler.Metric.FRAME, 5);
+        }
+        profiler.record(TickProfiler.Metric.FRAME, 1000);
+        assertEquals(7, profiler.percentile(TickProfiler.Metric.FRAME, 50));
+        assertEquals(7, profiler.percentile(TickProfiler.Metric.FRAME, 99));
+        assertEquals(1023, profiler.percentile(TickProfiler.Metric.FRAME, 100));
+        profiler.record(TickProfiler.Metric.BLOCKS_DRAWN, 0);
+        assertEquals(0, profiler.percentile(TickProfiler.Metric.BLOCKS_DRAWN, 100));
+    }
+
+    @Test
+    void testMBeanLookup() {
+        profiler.record(TickProfiler.Metric.COLLISION_TESTS, 4);
+        assertEquals(1, profiler.getCount("collision_tests"));
+        assertEquals(4, profiler.getMean("COLLISION_TESTS"));
+        assertEquals(4, profiler.getMax("COLLISION_TESTS"));
+        assertEquals(7, profiler.getPercentile("COLLISION_TESTS", 99));
+        assertEquals(-1, profiler.getCount("nothing"));
+        assertEquals(-1, profiler.getMean("nothing"));
+        assertEquals(-1, profiler.getMax("nothing"));
+        assertEquals(-1, profiler.getPercentile("nothing", 99));
+        assertEquals(TickProfiler.ENABLED, profiler.isEnabled());
+    }
+
+    @Test
+    void testDetachedProfilersSeparate() {
+        TickProfiler other = TickProfiler.newDetachedProfiler();
+        profiler.record(TickProfiler.Metric.TICK, 5);
+        assertEquals(0, other.count(TickProfiler.Metric.TICK));
+        assertNotSame(other, TickProfiler.getInstance());
+        assertSame(TickProfiler.getInstance(), TickProfiler.getInstance());
+    }
+
+    @Test
+    void testGameRecordsIntoItsProfiler() {
+        Game game = new Game(1000, 700);
+        game.addBlock(new Block(game.startingPosX, game.startingPosY + 50));
+        game.tick();
+        assertEquals(0, profiler.count(TickProfiler.Metric.TICK));
+        game.setProfiler(profiler);
+        assertSame(profiler, game.getProfiler());
+        for (int i = 0; i < 10; i++) {
+            game.tick();
+        }
+        assertEquals(10, profiler.count(TickProfiler.Metric.TICK));
+        assertEquals(10, profiler.count(TickProfiler.Metric.BOUNDARIES));
+        assertEquals(10, profiler.count(TickProfiler.Metric.COLLISION_TESTS));
+        assertEquals(0, profiler.count(TickProfiler.Metric.LOGGING));
+        game.setProfiler(null);
+        game.tick();
+        assertEquals(10, profiler.count(TickProfiler.Metric.TICK));
+    }
+
+    @Test
+    void testLoggingLeftOutOfPhases() {
+        Game game = new Game(1000, 700);
+        game.getEventLog().setCoalescing(EventType.LEFT_EDGE, false);
+        game.setProfiler(profiler);
+        int ticks = 100;
+        for (int i = 0; i < ticks; i++) {
+            game.getCharacter().setPositionX(game.getCameraX() + 200);
+            game.getCharacter().setPositionY(game.startingPosY);
+            game.getCharacter().setVelocityX(300);
+            game.getCharacter().setVelocityXMultiplier(-1);
+            game.getCharacter().setVelocityY(0);
+            game.tick();
+        }
+        assertEquals(ticks, profiler.count(TickProfiler.Metric.LOGGING));
+        double phases = 0;
+        TickProfiler.Metric[] metrics = {TickProfiler.Metric.SCROLL, TickProfiler.Metric.PHYSICS,
+                TickProfiler.Metric.COLLISIONS, TickProfiler.Metric.BOUNDARIES, TickProfiler.Metric.LOGGING};
+        for (TickProfiler.Metric metric : metrics) {
+            phases += total(metric);
+        }
+        assertTrue(phases <= total(TickProfiler.Metric.TICK));
+    }
+
+    @Test
+    void testInventoryEventsTimedAsLogging() {
+        Game game = new Game(1000, 700);
+        game.setProfiler(profiler);
+        PowerUp speed = new PowerUp(0, 0, Game.SPEED);
+        game.addBlock(speed);
+        assertTrue(game.collectPowerUp(speed));
+        assertEquals(1, profiler.count(TickProfiler.Metric.LOGGING));
+        game.usePowerUp(speed);
+        assertEquals(2, profiler.count(TickProfiler.Metric.LOGGING));
+    }
+
+    @Test
+    void testSummaryAndReset() {
+        profiler.record(TickProfiler.Metric.LOGGING, 100);
+        String[] summary = profiler.getSummary();
+        assertEquals(TickProfiler.Metric.values().length, summary.length);
+        assertTrue(summary[TickProfiler.Metric.LOGGING.ordinal()].startsWith("LOGGING"));
+        assertTrue(summary[TickProfiler.Metric.LOGGING.ordinal()].contains("n=1"));
+        profiler.reset();
+        assertEquals(0, profiler.count(TickProfiler.Metric.LOGGING));
+        assertEquals(0, profiler.max(TickProfiler.Metric.LOGGING));
+    }
+
+    // EFFECTS: returns the sum of the samples of metric
+    private double total(TickProfiler.Metric metric) {
+        return profiler.mean(metric) * profiler.count(metric);
+    }
+}
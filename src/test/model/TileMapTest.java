@@ -0,0 +1,67 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TileMapTest {
+    private TileMap testMap;
+
+    @BeforeEach
+    void runBefore() {
+        testMap = new TileMap(10, 4, 50);
+    }
+
+    @Test
+    void testConstructor() {
+        assertEquals(10, testMap.getColumns());
+        assertEquals(4, testMap.getRows());
+        assertEquals(50, testMap.getTileSize());
+        assertEquals(0, testMap.count());
+        assertEquals(TileMap.EMPTY, testMap.getTile(3, 2));
+    }
+
+    @Test
+    void testSetTile() {
+        testMap.setTile(3, 2, EntityKind.HAZARD);
+        testMap.setTile(9, 3, EntityKind.FINISH);
+        assertEquals(EntityKind.HAZARD.getCode(), testMap.getTile(3, 2));
+        assertEquals(EntityKind.FINISH, EntityKind.fromCode(testMap.getTile(9, 3)));
+        assertEquals(2, testMap.count());
+
+        testMap.setTile(3, 2, null);
+        assertEquals(TileMap.EMPTY, testMap.getTile(3, 2));
+        assertEquals(1, testMap.count());
+    }
+
+    @Test
+    void testOutsideMapIsEmpty() {
+        assertEquals(TileMap.EMPTY, testMap.getTile(-1, 0));
+        assertEquals(TileMap.EMPTY, testMap.getTile(10, 0));
+        assertEquals(TileMap.EMPTY, testMap.getTile(0, -1));
+        assertEquals(TileMap.EMPTY, testMap.getTile(0, 4));
+    }
+
+    @Test
+    void testColumnAndRowOf() {
+        assertEquals(0, testMap.columnOf(0));
+        assertEquals(0, testMap.columnOf(49));
+        assertEquals(1, testMap.columnOf(50));
+        assertEquals(-1, testMap.columnOf(-1));
+        assertEquals(2, testMap.rowOf(149));
+        assertNotEquals(testMap.indexOf(1, 0), testMap.indexOf(0, 1));
+    }
+
+    @Test
+    void testKindCodes() {
+        assertNull(EntityKind.fromCode(TileMap.EMPTY));
+        assertNull(EntityKind.fromCode(6));
+        for (int code = 1; code <= 5; code++) {
+            assertEquals(code, EntityKind.fromCode(code).getCode());
+        }
+        assertTrue(EntityKind.SPEED.newBlock(0, 0) instanceof PowerUp);
+        assertTrue(EntityKind.FINISH.newBlock(0, 0) instanceof FinishLine);
+        assertNull(EntityKind.PLAYER.newBlock(0, 0));
+    }
+}
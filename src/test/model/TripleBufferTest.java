@@ -0,0 +1,80 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TripleBufferTest {
+    private TripleBuffer<int[]> testBuffer;
+
+    @BeforeEach
+    void runBefore() {
+        testBuffer = new TripleBuffer<>(new int[1], new int[1], new int[1]);
+    }
+
+    @Test
+    void testNothingPublished() {
+        assertNull(testBuffer.poll());
+        assertNotNull(testBuffer.getFront());
+        assertNotSame(testBuffer.getBack(), testBuffer.getFront());
+    }
+
+    @Test
+    void testPublishThenPoll() {
+        int[] back = testBuffer.getBack();
+        back[0] = 7;
+        testBuffer.publish();
+        assertNotSame(back, testBuffer.getBack());
+        assertSame(back, testBuffer.poll());
+        assertSame(back, testBuffer.getFront());
+        assertNull(testBuffer.poll());
+        assertEquals(7, testBuffer.getFront()[0]);
+    }
+
+    @Test
+    void testPollTakesNewest() {
+        for (int i = 1; i <= 5; i++) {
+            testBuffer.getBack()[0] = i;
+            testBuffer.publish();
+        }
+        assertEquals(5, testBuffer.poll()[0]);
+        assertNull(testBuffer.poll());
+    }
+
+    @Test
+    void testProducerNeverGetsFront() {
+        for (int i = 1; i <= 10; i++) {
+            testBuffer.getBack()[0] = i;
+            testBuffer.publish();
+            if (i % 3 == 0) {
+                assertEquals(i, testBuffer.poll()[0]);
+            }
+            assertNotSame(testBuffer.getFront(), testBuffer.getBack());
+        }
+    }
+
+    @Test
+    void testConcurrentFramesNeverTorn() throws InterruptedException {
+        TripleBuffer<int[]> frames = new TripleBuffer<>(new int[2], new int[2], new int[2]);
+        Thread producer = new Thread(() -> {
+            for (int i = 1; i <= 200000; i++) {
+                int[] frame = frames.getBack();
+                frame[0] = i;
+                frame[1] = -i;
+                frames.publish();
+            }
+        });
+        producer.start();
+        int last = 0;
+        while (last < 200000) {
+            int[] frame = frames.poll();
+            if (frame != null) {
+                assertEquals(frame[0], -frame[1]);
+                assertTrue(frame[0] > last);
+                last = frame[0];
+            }
+        }
+        producer.join();
+    }
+}
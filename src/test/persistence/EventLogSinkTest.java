@@ -0,0 +1,132 @@
+package persistence;
+
+import model.EventLog;
+import model.EventType;
+import model.OverflowPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventLogSinkTest {
+    @TempDir
+    Path tempDir;
+    private Path file;
+    private EventLog testLog;
+
+    @BeforeEach
+    void runBefore() {
+        testLog = EventLog.newDetachedLog(8);
+        file = tempDir.resolve("testSinkEvents.log");
+    }
+
+    @Test
+    void testWriteEvents() throws IOException {
+        EventLogSink sink = new EventLogSink(testLog, file, 1 << 20, 1, OverflowPolicy.DROP);
+        sink.start();
+        testLog.logEvent(EventType.GAME_STARTED, 0);
+        testLog.logEvent(EventType.DIED, 75, 1);
+        sink.close();
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).endsWith(" tick 0 Game started!"));
+        assertTrue(lines.get(1).endsWith(" tick 75 Death from spike at 1 seconds"));
+        assertEquals(0, sink.getDropped());
+    }
+
+    @Test
+    void testAppendToExistingFile() throws IOException {
+        Files.write(file, "earlier\n".getBytes());
+        EventLogSink sink = new EventLogSink(testLog, file, 1 << 20, 1, OverflowPolicy.DROP);
+        sink.start();
+        testLog.logEvent(EventType.TOP_EDGE, 3);
+        sink.close();
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(2, lines.size());
+        assertEquals("earlier", lines.get(0));
+    }
+
+    @Test
+    void testRepeatsWrittenOnce() throws IOException {
+        EventLogSink sink = new EventLogSink(testLog, file, 1 << 20, 1, OverflowPolicy.DROP);
+        sink.open();
+        testLog.logEvent(EventType.LEFT_EDGE, 1);
+        testLog.logEvent(EventType.LEFT_EDGE, 2);
+        assertEquals(0, sink.drain(false));
+        testLog.logEvent(EventType.LEFT_EDGE, 3);
+        sink.close();
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).endsWith("left edge (x3, ticks 1 to 3)"));
+    }
+
+    @Test
+    void testDropOverwrittenEvents() throws IOException {
+        EventLogSink sink = new EventLogSink(testLog, file, 1 << 20, 1, OverflowPolicy.DROP);
+        sink.open();
+        for (int i = 0; i < 20; i++) {
+            testLog.logEvent(EventType.DIED, i, i);
+        }
+        assertEquals(8, sink.drain(true));
+        sink.close();
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(9, lines.size());
+        assertEquals("12 events dropped", lines.get(0));
+        assertTrue(lines.get(1).contains(" tick 12 "));
+        assertEquals(12, sink.getDropped());
+    }
+
+    @Test
+    void testBlockUntilWritten() throws IOException {
+        EventLogSink sink = new EventLogSink(testLog, file, 1 << 20, 1, OverflowPolicy.BLOCK);
+        sink.start();
+        for (int i = 0; i < 1000; i++) {
+            testLog.logEvent(EventType.DIED, i, i);
+        }
+        sink.close();
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(1000, lines.size());
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(lines.get(i).contains(" tick " + i + " "));
+        }
+        assertEquals(0, sink.getDropped());
+        testLog.logEvent(EventType.DIED, 1000, 0);
+    }
+
+    @Test
+    void testBlockedProducerWakesSink() throws IOException {
+        EventLogSink sink = new EventLogSink(testLog, file, 1 << 20, 1, OverflowPolicy.BLOCK);
+        sink.start();
+        long start = System.nanoTime();
+        for (int i = 0; i < 400; i++) {
+            testLog.logEvent(EventType.DIED, i, i);
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1000000;
+        sink.close();
+        assertEquals(400, Files.readAllLines(file).size());
+        assertTrue(elapsedMillis < 1000, "took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void testRotateFiles() throws IOException {
+        EventLogSink sink = new EventLogSink(testLog, file, 200, 2, OverflowPolicy.BLOCK);
+        sink.start();
+        for (int i = 0; i < 50; i++) {
+            testLog.logEvent(EventType.DIED, i, i);
+        }
+        sink.close();
+        assertTrue(Files.size(file) <= 200);
+        assertTrue(Files.size(Paths.get(file + ".1")) <= 200);
+        assertTrue(Files.exists(Paths.get(file + ".2")));
+        assertFalse(Files.exists(Paths.get(file + ".3")));
+        List<String> lines = Files.readAllLines(file);
+        assertTrue(lines.get(lines.size() - 1).contains(" tick 49 "));
+    }
+}
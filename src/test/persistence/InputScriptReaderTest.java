@@ -0,0 +1,54 @@
+package persistence;
+
+import model.Command;
+import model.InputScript;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InputScriptReaderTest {
+    @Test
+    void testReaderNonExistentFile() {
+        InputScriptReader reader = new InputScriptReader("./data/fake-script.txt");
+        try {
+            reader.read();
+            fail("IOException expected but not caught.");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    void testReaderGeneralScript() {
+        InputScriptReader reader = new InputScriptReader("./data/testInputScript.txt");
+        try {
+            InputScript script = reader.read();
+            assertEquals(4, script.size());
+            assertEquals(0, script.getTick(0));
+            assertEquals(Command.RIGHT, script.getCommand(0));
+            assertEquals(30, script.getTick(1));
+            assertEquals(Command.JUMP, script.getCommand(1));
+            assertEquals(Command.USE_1, script.getCommand(2));
+            assertEquals(200, script.getTick(3));
+            assertEquals(Command.RELEASE, script.getCommand(3));
+        } catch (IOException e) {
+            fail("Unexpected exception.");
+        }
+    }
+
+    @Test
+    void testReaderMalformedScript() {
+        String[] malformed = {"12", "12 FLY", "x JUMP", "-1 JUMP", "1 JUMP extra"};
+        for (String line : malformed) {
+            try {
+                InputScriptReader.read(new StringReader("0 RIGHT\n" + line));
+                fail("IOException expected but not caught for " + line);
+            } catch (IOException e) {
+                assertTrue(e.getMessage().contains("line 2"));
+            }
+        }
+    }
+}
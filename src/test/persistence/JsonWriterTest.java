@@ -41,6 +41,8 @@ class JsonWriterTest extends JsonTestHelpers {
             assertEquals(0, state.getBlocks().size());
             assertEquals(0, state.getInventory().size());
             assertEquals(3, state.getAvailableKeys().size());
+            assertEquals(0, state.getCameraX());
+            assertEquals(0, state.getCameraY());
             assertEquals(0, state.getTime());
             assertEquals(0, state.getInvulnerabilityEnd());
             assertEquals(0, state.getSpeedEnd());
@@ -71,6 +73,7 @@ class JsonWriterTest extends JsonTestHelpers {
             state.getCharacter().setPositionX(27);
             state.getCharacter().setPositionY(12);
             state.getCharacter().setVelocityY(-2);
+            state.setCamera(350, -40);
             JsonWriter writer = new JsonWriter("./data/testWriterGeneralGame.json");
             writer.open();
             writer.write(state);
@@ -80,6 +83,8 @@ class JsonWriterTest extends JsonTestHelpers {
             state = reader.read();
             checkCharacter(27, 12, 0, 2, -2, state.getCharacter());
             assertEquals(23, state.getBlocks().size());
+            assertEquals(350, state.getCameraX());
+            assertEquals(-40, state.getCameraY());
             assertEquals(1, state.getInventory().size());
             assertEquals(2, state.getAvailableKeys().size());
             assertEquals(0, state.getTime());
@@ -0,0 +1,72 @@
+package persistence;
+
+import model.Replay;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayReaderTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testReaderNonExistentFile() {
+        ReplayReader reader = new ReplayReader("./data/noSuchFile.rpl");
+        try {
+            Replay replay = reader.read();
+            fail("IOException expected");
+        } catch (IOException e) {
+            // pass
+        }
+    }
+
+    @Test
+    void testReaderNotAReplay() {
+        ReplayReader reader = new ReplayReader("./data/testReaderGeneralGame.json");
+        try {
+            reader.read();
+            fail("IOException expected");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().startsWith("Not a replay file"));
+        }
+    }
+
+    @Test
+    void testReaderBadVersionAndCommand() throws IOException {
+        String badVersion = tempDir.resolve("testReaderBadVersion.rpl").toString();
+        writeRaw(badVersion, 9, 0);
+        try {
+            new ReplayReader(badVersion).read();
+            fail("IOException expected");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().startsWith("Unsupported replay version 9"));
+        }
+        String badCommand = tempDir.resolve("testReaderBadCommand.rpl").toString();
+        writeRaw(badCommand, ReplayWriter.VERSION, 99);
+        try {
+            new ReplayReader(badCommand).read();
+            fail("IOException expected");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().startsWith("Unknown command 99"));
+        }
+    }
+
+    // EFFECTS: writes a replay header with the given version holding a single command
+    private void writeRaw(String file, int version, int command) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(file))) {
+            out.writeInt(ReplayWriter.MAGIC);
+            out.writeByte(version);
+            out.writeUTF("map");
+            out.writeByte(10);
+            out.writeByte(1);
+            out.writeByte(0);
+            out.writeByte(command);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package persistence;
+
+import model.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayWriterTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testWriterInvalidFile() {
+        try {
+            ReplayWriter writer = new ReplayWriter(tempDir.resolve("no-such-dir/fake-replay.rpl").toString());
+            writer.open();
+            fail("IOException was expected but not caught.");
+        } catch (IOException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    void testWriterEmptyReplay() {
+        try {
+            String file = tempDir.resolve("testWriterEmptyReplay.rpl").toString();
+            ReplayWriter writer = new ReplayWriter(file);
+            writer.open();
+            writer.write(new Replay("/maps/testmap.csv", 0, new InputScript()));
+            writer.close();
+
+            Replay replay = new ReplayReader(file).read();
+            assertEquals("/maps/testmap.csv", replay.getMap());
+            assertEquals(0, replay.getLength());
+            assertEquals(0, replay.getScript().size());
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testWriterGeneralReplay() {
+        try {
+            InputScript script = new InputScript();
+            script.add(0, Command.RIGHT);
+            script.add(0, Command.JUMP);
+            script.add(100, Command.USE_3);
+            script.add(216000, Command.RELEASE);
+            Path file = tempDir.resolve("testWriterGeneralReplay.rpl");
+            ReplayWriter writer = new ReplayWriter(file.toString());
+            writer.open();
+            writer.write(new Replay("./maps/wide.csv", 216001, script));
+            writer.close();
+
+            Replay replay = new ReplayReader(file.toString()).read();
+            assertEquals("./maps/wide.csv", replay.getMap());
+            assertEquals(216001, replay.getLength());
+            InputScript read = replay.getScript();
+            assertEquals(script.size(), read.size());
+            for (int i = 0; i < script.size(); i++) {
+                assertEquals(script.getTick(i), read.getTick(i));
+                assertEquals(script.getCommand(i), read.getCommand(i));
+            }
+            // header, then two bytes per command except the one 215900 ticks after the last
+            long expected = 4 + 1 + 2 + "./maps/wide.csv".length() + 3 + 1 + 2 * 3 + 4;
+            assertEquals(expected, Files.size(file));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+}
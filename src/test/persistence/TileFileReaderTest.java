@@ -0,0 +1,55 @@
+package persistence;
+
+import model.TileMap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TileFileReaderTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testReaderNonExistentFile() {
+        try {
+            new TileFileReader(Paths.get("./data/noSuchFile.tiles"));
+            fail("IOException expected");
+        } catch (IOException e) {
+            // pass
+        }
+    }
+
+    @Test
+    void testReaderNotATileFile() {
+        try {
+            new TileFileReader(Paths.get("./data/testReaderGeneralGame.json"));
+            fail("IOException expected");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().startsWith("Not a tile file"));
+        }
+    }
+
+    @Test
+    void testReaderLastChunkIsPadded() {
+        try {
+            Path tiles = tempDir.resolve("testReaderPadded.tiles");
+            new TileFileWriter(tiles, 4).write(Paths.get("./data/testTileMap.csv"));
+            try (TileFileReader reader = new TileFileReader(tiles)) {
+                byte[] chunk = new byte[4 * 5];
+                java.util.Arrays.fill(chunk, (byte) 7);
+                reader.readChunk(1, chunk);
+                assertEquals(1, chunk[3]);
+                for (int i = 5; i < chunk.length; i++) {
+                    assertEquals(TileMap.EMPTY, chunk[i]);
+                }
+            }
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package persistence;
+
+import model.EntityKind;
+import model.TileMap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TileFileWriterTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testWriterMissingCsv() {
+        try {
+            new TileFileWriter(tempDir.resolve("testWriterMissing.tiles")).write(Paths.get("./data/noSuchMap.csv"));
+            fail("IOException was expected but not caught.");
+        } catch (IOException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    void testWriterGeneralMap() {
+        try {
+            Path tiles = tempDir.resolve("testWriterGeneralMap.tiles");
+            new TileFileWriter(tiles, 2).write(Paths.get("./data/testTileMap.csv"));
+            assertEquals(5 * Integer.BYTES + 5 * 5, Files.size(tiles));
+
+            try (TileFileReader reader = new TileFileReader(tiles)) {
+                assertEquals(5, reader.getColumns());
+                assertEquals(5, reader.getRows());
+                assertEquals(2, reader.getChunkColumns());
+                TileMap map = TileMap.streamed(reader, 50);
+                assertEquals(3, map.getChunkCount());
+                for (int chunk = 0; chunk < map.getChunkCount(); chunk++) {
+                    byte[] chunkTiles = new byte[map.getChunkLength()];
+                    reader.readChunk(chunk, chunkTiles);
+                    map.setChunk(chunk, chunkTiles);
+                }
+                assertEquals(EntityKind.BLOCK.getCode(), map.getTile(0, 0));
+                assertEquals(TileMap.EMPTY, map.getTile(1, 0));
+                assertEquals(EntityKind.HAZARD.getCode(), map.getTile(2, 0));
+                assertEquals(EntityKind.SPEED.getCode(), map.getTile(1, 1));
+                assertEquals(TileMap.EMPTY, map.getTile(2, 1));
+                assertEquals(EntityKind.FINISH.getCode(), map.getTile(3, 1));
+                assertEquals(TileMap.EMPTY, map.getTile(0, 2));
+                assertEquals(EntityKind.INVULNERABLE.getCode(), map.getTile(0, 3));
+                assertEquals(TileMap.EMPTY, map.getTile(2, 3));
+                assertEquals(TileMap.EMPTY, map.getTile(3, 3));
+                assertEquals(EntityKind.BLOCK.getCode(), map.getTile(4, 3));
+                assertEquals(TileMap.EMPTY, map.getTile(0, 4));
+                assertEquals(6, map.count());
+            }
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+
+    @Test
+    void testWriterInBands() {
+        try {
+            Path whole = tempDir.resolve("testWriterWhole.tiles");
+            Path banded = tempDir.resolve("testWriterBanded.tiles");
+            new TileFileWriter(whole, 2).write(Paths.get("./data/testTileMap.csv"));
+            new TileFileWriter(banded, 2, 2 * 5).write(Paths.get("./data/testTileMap.csv"));
+            assertArrayEquals(Files.readAllBytes(whole), Files.readAllBytes(banded));
+            new TileFileWriter(banded, 2, 1).write(Paths.get("./data/testTileMap.csv"));
+            assertArrayEquals(Files.readAllBytes(whole), Files.readAllBytes(banded));
+
+            Path moved = tempDir.resolve("testWriterMoved.tiles");
+            Files.move(banded, moved);
+            assertTrue(Files.deleteIfExists(moved));
+        } catch (IOException e) {
+            fail("Exception should not have been thrown");
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package ui;
+
+import model.Block;
+import model.Game;
+import model.PowerUp;
+import model.RenderSnapshot;
+import model.TileMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DirtyRegionTest {
+    private static final int TILE = 50;
+    private static final int WIDTH = 1000;
+    private static final int HEIGHT = 700;
+    private static final Rectangle VIEW = new Rectangle(0, 0, WIDTH, HEIGHT);
+    private Game testGame;
+    private RenderSnapshot testFrame;
+    private DirtyRegion testRegion;
+
+    @BeforeEach
+    public void runBefore() {
+        testGame = new Game(WIDTH, HEIGHT);
+        testFrame = new RenderSnapshot();
+        testRegion = new DirtyRegion(WIDTH, HEIGHT, TILE);
+        assertEquals(VIEW, update());
+    }
+
+    @Test
+    public void testNothingChanged() {
+        assertNull(update());
+        testGame.addBlock(new Block(500, 100));
+        testGame.addBlock(new Block(600, 100));
+        update();
+        assertNull(update());
+    }
+
+    @Test
+    public void testCharacterMoved() {
+        int x = testGame.startingPosX;
+        int y = testGame.startingPosY;
+        testGame.getCharacter().setPositionX(x + 10);
+        assertEquals(new Rectangle(x, y, TILE + 10, TILE), update());
+        testGame.getCharacter().setPositionY(y - 30);
+        assertEquals(new Rectangle(x + 10, y - 30, TILE, TILE + 30), update());
+    }
+
+    @Test
+    public void testCharacterTurned() {
+        testGame.getCharacter().setVelocityXMultiplier(-1);
+        Rectangle dirty = update();
+        assertEquals(new Rectangle(testGame.startingPosX, testGame.startingPosY, TILE, TILE), dirty);
+    }
+
+    @Test
+    public void testSpriteAppearsAndDisappears() {
+        Block block = new Block(500, 100);
+        testGame.addBlock(block);
+        assertEquals(new Rectangle(500, 100, TILE, TILE), update());
+        testGame.removeBlock(block);
+        assertEquals(new Rectangle(500, 100, TILE, TILE), update());
+    }
+
+    @Test
+    public void testSpritesAfterFirstDifference() {
+        testGame.addBlock(new Block(500, 100));
+        update();
+        testGame.addBlock(new Block(700, 200));
+        Rectangle dirty = update();
+        assertTrue(dirty.contains(new Rectangle(700, 200, TILE, TILE)));
+        assertFalse(dirty.intersects(new Rectangle(testGame.startingPosX, testGame.startingPosY, TILE, TILE)));
+    }
+
+    @Test
+    public void testHudChanged() {
+        Rectangle hud = new Rectangle(0, 0, WIDTH, HudLayer.heightFor(TILE));
+        testGame.setTime(Game.DEFAULT_TICK_RATE - 1);
+        assertNull(update());
+        testGame.setTime(Game.DEFAULT_TICK_RATE);
+        assertEquals(hud, update());
+        PowerUp speed = new PowerUp(0, 0, Game.SPEED);
+        speed.setKeyAssignment("1");
+        testGame.addPowerUpToInventory(speed);
+        assertEquals(hud, update());
+    }
+
+    @Test
+    public void testCameraOrLevelChanged() {
+        testGame.setCamera(TILE, 0);
+        assertEquals(VIEW, update());
+        assertNull(update());
+        testGame.setTileMap(new TileMap(40, 14, TILE));
+        assertEquals(VIEW, update());
+        assertNull(update());
+    }
+
+    @Test
+    public void testClippedToView() {
+        testGame.addBlock(new Block(WIDTH - 20, HEIGHT - 20));
+        assertEquals(new Rectangle(WIDTH - 20, HEIGHT - 20, 20, 20), update());
+    }
+
+    // EFFECTS: captures the game and returns the region that changed since the last capture
+    private Rectangle update() {
+        testFrame.capture(testGame, WIDTH, HEIGHT);
+        return testRegion.update(testFrame);
+    }
+}
@@ -0,0 +1,116 @@
+package ui;
+
+import model.EntityKind;
+import model.Game;
+import model.Inventory;
+import model.PowerUp;
+import model.RenderSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HudLayerTest {
+    private static final int TILE = 50;
+    private static final int WIDTH = 1000;
+    private static final int HEIGHT = 700;
+    private static final Font REGULAR_TEXT = new Font("Consolas", Font.PLAIN, 14);
+    private SpriteAtlas testAtlas;
+    private HudLayer testHud;
+    private Game testGame;
+    private RenderSnapshot testFrame;
+
+    @BeforeEach
+    public void runBefore() {
+        testAtlas = new SpriteAtlas(Sprites.getInstance(), TILE);
+        testHud = new HudLayer(testAtlas, WIDTH);
+        testGame = new Game(WIDTH, HEIGHT);
+        testFrame = new RenderSnapshot();
+    }
+
+    @Test
+    public void testDrawMatchesDirectDrawing() {
+        testFrame.capture(testGame, WIDTH, HEIGHT);
+        StaticLayerTest.assertSamePixels(direct(testFrame), layered(testFrame));
+
+        testGame.setTime(754);
+        PowerUp speed = new PowerUp(0, 0, Game.SPEED);
+        speed.setKeyAssignment("1");
+        testGame.addPowerUpToInventory(speed);
+        PowerUp invulnerable = new PowerUp(0, 0, Game.INVULNERABLE);
+        invulnerable.setKeyAssignment("3");
+        testGame.addPowerUpToInventory(invulnerable);
+        testFrame.capture(testGame, WIDTH, HEIGHT);
+        StaticLayerTest.assertSamePixels(direct(testFrame), layered(testFrame));
+    }
+
+    @Test
+    public void testRenderedOnlyWhenChanged() {
+        testFrame.capture(testGame, WIDTH, HEIGHT);
+        layered(testFrame);
+        assertEquals(1, testHud.getRebuilds());
+        testGame.setTime(testFrame.getTickRate() - 1);
+        testFrame.capture(testGame, WIDTH, HEIGHT);
+        layered(testFrame);
+        assertEquals(1, testHud.getRebuilds());
+        testGame.setTime(testFrame.getTickRate());
+        testFrame.capture(testGame, WIDTH, HEIGHT);
+        layered(testFrame);
+        assertEquals(2, testHud.getRebuilds());
+        PowerUp speed = new PowerUp(0, 0, Game.SPEED);
+        speed.setKeyAssignment("2");
+        testGame.addPowerUpToInventory(speed);
+        testFrame.capture(testGame, WIDTH, HEIGHT);
+        layered(testFrame);
+        assertEquals(3, testHud.getRebuilds());
+    }
+
+    // EFFECTS: returns a black view with the HUD for frame drawn through the layer
+    private BufferedImage layered(RenderSnapshot frame) {
+        BufferedImage image = blank();
+        Graphics2D g2d = image.createGraphics();
+        testHud.draw(g2d, frame);
+        g2d.dispose();
+        return image;
+    }
+
+    // EFFECTS: returns a black view with the HUD for frame drawn string by string and
+    // sprite by sprite, as it was drawn before it was cached
+    private BufferedImage direct(RenderSnapshot frame) {
+        BufferedImage image = blank();
+        Graphics2D g2d = image.createGraphics();
+        int centerX = WIDTH / 2;
+        g2d.setColor(Color.WHITE);
+        g2d.setFont(REGULAR_TEXT);
+        g2d.drawString("ITEMS:", centerX - 200, 10 + 25);
+        g2d.drawString("1:", centerX - 125, 10 + 25);
+        g2d.drawString("2:", centerX - 25, 10 + 25);
+        g2d.drawString("3:", centerX + 75, 10 + 25);
+        for (int slot = 0; slot < Inventory.CAPACITY; slot++) {
+            EntityKind kind = frame.getItem(slot);
+            if (kind != null) {
+                testAtlas.draw(g2d, SpriteAtlas.forKind(kind), centerX - 100 + slot * 100, 10);
+            }
+        }
+        g2d.drawString("TIME:", 25, 25);
+        g2d.setColor(Color.GREEN);
+        g2d.drawString(String.valueOf(frame.getTime() / frame.getTickRate()), 100, 25);
+        g2d.setColor(Color.PINK);
+        g2d.drawString("PRESS (S) TO SAVE PROGRESS", WIDTH - 250, 25);
+        g2d.dispose();
+        return image;
+    }
+
+    // EFFECTS: returns a black image the size of the view
+    private BufferedImage blank() {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setColor(Color.BLACK);
+        g2d.fillRect(0, 0, WIDTH, HEIGHT);
+        g2d.dispose();
+        return image;
+    }
+}
@@ -0,0 +1,71 @@
+package ui;
+
+import model.ChunkStreamer;
+import model.Game;
+import model.TileMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MapLoaderTest {
+    private static final int VIEW_WIDTH = 800;
+    private MapLoader testLoader;
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    public void runBefore() {
+        testLoader = new MapLoader("/maps/testmap.csv");
+    }
+
+    @Test
+    public void testBundledTileFileReused() throws IOException {
+        Path first = testLoader.tileFile();
+        assertTrue(Files.exists(first));
+        assertEquals(first, new MapLoader("/maps/testmap.csv").tileFile());
+        assertEquals(first, testLoader.tileFile());
+    }
+
+    @Test
+    public void testStaleTileFileDeleted() throws IOException {
+        Path csv = tempDir.resolve("testStaleTileFile.csv");
+        Files.write(csv, "1,0,2\n0,1,0\n".getBytes());
+        MapLoader loader = new MapLoader(csv.toString());
+        Path first = loader.tileFile();
+        assertEquals(MapLoader.CACHE_DIR, first.getParent());
+        assertEquals(first, loader.tileFile());
+
+        Files.write(csv, "1,0,2,0\n0,1,0,0\n".getBytes());
+        Files.setLastModifiedTime(csv, FileTime.fromMillis(Files.getLastModifiedTime(csv).toMillis() + 1000));
+        Path second = loader.tileFile();
+        assertNotEquals(first, second);
+        assertTrue(Files.exists(second));
+        assertFalse(Files.exists(first));
+        assertTrue(Files.exists(testLoader.tileFile()));
+        Files.delete(second);
+    }
+
+    @Test
+    public void testStreamMap() throws IOException, InterruptedException {
+        Game game = new Game(VIEW_WIDTH, 600);
+        ChunkStreamer streamer = testLoader.streamMap(game, VIEW_WIDTH, 1 << 20);
+        try {
+            TileMap tileMap = game.getTileMap();
+            assertNotNull(tileMap);
+            assertTrue(streamer.isStarted());
+            int last = tileMap.columnOf(game.getCameraX() + VIEW_WIDTH - 1);
+            for (int col = tileMap.columnOf(game.getCameraX()); col <= last; col++) {
+                assertTrue(tileMap.isResident(tileMap.chunkOf(col)));
+            }
+        } finally {
+            streamer.close();
+        }
+    }
+}
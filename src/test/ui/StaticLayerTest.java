@@ -0,0 +1,96 @@
+package ui;
+
+import model.EntityKind;
+import model.TileMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StaticLayerTest {
+    private static final int TILE = 50;
+    private static final int WIDTH = 1000;
+    private static final int HEIGHT = 700;
+    private SpriteAtlas testAtlas;
+    private TileMap testMap;
+    private StaticLayer testLayer;
+
+    @BeforeEach
+    public void runBefore() {
+        testAtlas = new SpriteAtlas(Sprites.getInstance(), TILE);
+        testMap = new TileMap(120, 20, TILE);
+        for (int col = 0; col < testMap.getColumns(); col++) {
+            testMap.setTile(col, 19, EntityKind.BLOCK);
+            if (col % 7 == 3) {
+                testMap.setTile(col, 18, EntityKind.HAZARD);
+            }
+            if (col % 11 == 5) {
+                testMap.setTile(col, col % 17, EntityKind.SPEED);
+            }
+        }
+        testMap.setTile(117, 17, EntityKind.FINISH);
+        testLayer = new StaticLayer(testAtlas, WIDTH, HEIGHT);
+    }
+
+    @Test
+    public void testMaxChunksCoversView() {
+        // a 1000 x 700 view overlaps up to 3 x 2 chunks of 800 pixels, plus a column of 2
+        assertEquals(8, testLayer.getMaxChunks());
+    }
+
+    @Test
+    public void testDrawMatchesTiles() {
+        int[][] cameras = {{0, 0}, {375, 260}, {2750, 300}, {5000, 301}};
+        for (int[] camera : cameras) {
+            BufferedImage layered = view(camera[0], camera[1], true);
+            BufferedImage tiled = view(camera[0], camera[1], false);
+            assertSamePixels(tiled, layered);
+        }
+        assertTrue(testLayer.getCachedChunks() <= testLayer.getMaxChunks());
+    }
+
+    @Test
+    public void testCacheBoundedWhileScrolling() {
+        for (int x = 0; x < testMap.getColumns() * TILE - WIDTH; x += TILE) {
+            view(x, 300, true);
+            assertTrue(testLayer.getCachedChunks() <= testLayer.getMaxChunks());
+        }
+        assertEquals(testLayer.getMaxChunks(), testLayer.getCachedChunks());
+    }
+
+    // EFFECTS: returns the view at the camera, drawn through the layer if layered and
+    // otherwise one static tile at a time
+    private BufferedImage view(int cameraX, int cameraY, boolean layered) {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setColor(Color.BLACK);
+        g2d.fillRect(0, 0, WIDTH, HEIGHT);
+        g2d.translate(-cameraX, -cameraY);
+        if (layered) {
+            testLayer.draw(g2d, testMap, cameraX, cameraY, WIDTH, HEIGHT);
+        } else {
+            for (int col = 0; col < testMap.getColumns(); col++) {
+                for (int row = 0; row < testMap.getRows(); row++) {
+                    EntityKind kind = EntityKind.fromCode(testMap.getTile(col, row));
+                    if (StaticLayer.isStatic(kind)) {
+                        testAtlas.draw(g2d, SpriteAtlas.forKind(kind), col * TILE, row * TILE);
+                    }
+                }
+            }
+        }
+        g2d.dispose();
+        return image;
+    }
+
+    // EFFECTS: fails unless actual has the same pixels as expected
+    static void assertSamePixels(BufferedImage expected, BufferedImage actual) {
+        for (int x = 0; x < expected.getWidth(); x++) {
+            for (int y = 0; y < expected.getHeight(); y++) {
+                assertEquals(expected.getRGB(x, y), actual.getRGB(x, y), "pixel (" + x + ", " + y + ")");
+            }
+        }
+    }
+}